@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import jdk.jfr.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: NetworkTelemetryEvents
+ * Created by agent
+ * Date: 18.10.2026 / 05:18
+ */
+//Flight recorder events of the starlight network. They cost next to nothing until a recording is started at runtime,
+//e.g. with 'jcmd <pid> JFR.start'. Not every Java 8 runtime ships jdk.jfr, so this is compiled in its own source set
+//and only loaded reflectively by NetworkTelemetry if the runtime has it. Nothing else may reference this class.
+public class NetworkTelemetryEvents implements IFlightRecorderEvents {
+
+    @Override
+    public void chainBuild(int x, int y, int z, long nanos, int nodes, int endpoints) {
+        ChainBuildEvent event = new ChainBuildEvent();
+        if (event.isEnabled()) {
+            event.x = x;
+            event.y = y;
+            event.z = z;
+            event.buildTime = nanos;
+            event.nodes = nodes;
+            event.endpoints = endpoints;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void networkTick(String dimension, long nanos, int sources, int distributed) {
+        NetworkTickEvent event = new NetworkTickEvent();
+        if (event.isEnabled()) {
+            event.dimension = dimension;
+            event.tickTime = nanos;
+            event.sources = sources;
+            event.distributed = distributed;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void blockChange(int x, int y, int z, long nanos, int crossingNodes, int notifications) {
+        BlockChangeEvent event = new BlockChangeEvent();
+        if (event.isEnabled()) {
+            event.x = x;
+            event.y = y;
+            event.z = z;
+            event.handleTime = nanos;
+            event.crossingNodes = crossingNodes;
+            event.notifications = notifications;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void nodeUpdateTick(String dimension, long nanos, int nodes) {
+        NodeUpdateTickEvent event = new NodeUpdateTickEvent();
+        if (event.isEnabled()) {
+            event.dimension = dimension;
+            event.tickTime = nanos;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+    @Name("astralsorcery.ChainBuild")
+    @Label("Starlight Chain Build")
+    @Category({"Astral Sorcery", "Starlight Network"})
+    static class ChainBuildEvent extends Event {
+
+        @Label("Source X")
+        int x;
+        @Label("Source Y")
+        int y;
+        @Label("Source Z")
+        int z;
+        @Label("Build Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long buildTime;
+        @Label("Nodes")
+        int nodes;
+        @Label("Endpoints")
+        int endpoints;
+    }
+
+    @Name("astralsorcery.NetworkTick")
+    @Label("Starlight Network Tick")
+    @Category({"Astral Sorcery", "Starlight Network"})
+    static class NetworkTickEvent extends Event {
+
+        @Label("Dimension")
+        String dimension;
+        @Label("Tick Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tickTime;
+        @Label("Sources")
+        int sources;
+        @Label("Sources Distributed")
+        int distributed;
+    }
+
+    @Name("astralsorcery.BlockChange")
+    @Label("Starlight Network Block Change")
+    @Category({"Astral Sorcery", "Starlight Network"})
+    static class BlockChangeEvent extends Event {
+
+        @Label("X")
+        int x;
+        @Label("Y")
+        int y;
+        @Label("Z")
+        int z;
+        @Label("Handle Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long handleTime;
+        @Label("Crossing Nodes")
+        int crossingNodes;
+        @Label("Notifications")
+        int notifications;
+    }
+
+    @Name("astralsorcery.NodeUpdateTick")
+    @Label("Starlight Node Update Tick")
+    @Category({"Astral Sorcery", "Starlight Network"})
+    static class NodeUpdateTickEvent extends Event {
+
+        @Label("Dimension")
+        String dimension;
+        @Label("Tick Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tickTime;
+        @Label("Nodes Updated")
+        int nodes;
+    }
+}
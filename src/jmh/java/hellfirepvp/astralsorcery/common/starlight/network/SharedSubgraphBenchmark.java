@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SharedSubgraphBenchmark
+ * Created by agent
+ * Date: 18.10.2026 / 05:26
+ */
+//Rebuilding the chains of every collector feeding into one prism cascade, with and without sharing the cascade's walk.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SharedSubgraphBenchmark {
+
+    @Param({"1", "10", "40"})
+    public int collectors;
+
+    @Param({"16", "64", "256"})
+    public int cascadeNodes;
+
+    private SyntheticNetwork network;
+
+    @Setup
+    public void setup() {
+        this.network = SyntheticNetwork.buildHub(this.collectors, this.cascadeNodes);
+    }
+
+    @Benchmark
+    public void buildSeparately(Blackhole blackhole) {
+        for (int i = 0; i < this.network.getCollectorCount(); i++) {
+            blackhole.consume(TransmissionChain.buildFromSnapshot(null, this.network.captureCollector(i, null)));
+        }
+    }
+
+    //A fresh memo each time, as after the network changed.
+    @Benchmark
+    public void buildShared(Blackhole blackhole) {
+        SubgraphMemo memo = new SubgraphMemo();
+        for (int i = 0; i < this.network.getCollectorCount(); i++) {
+            blackhole.consume(TransmissionChain.buildFromSnapshot(null, this.network.captureCollector(i, memo)));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: StarlightDistributionBenchmark
+ * Created by agent
+ * Date: 18.10.2026 / 05:20
+ */
+//The per-source part of TransmissionWorldHandler#tick that doesn't look at block states:
+//handing the starlight of one tick to every receiver and transmission node along a compiled plan.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StarlightDistributionBenchmark {
+
+    @Param({"CHAIN", "FAN", "LATTICE", "PRISM_MESH"})
+    public SyntheticNetwork.Shape shape;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nodes;
+
+    private SyntheticNetwork network;
+    private TransmissionDistributionPlan plan;
+
+    @Setup
+    public void setup() {
+        this.network = SyntheticNetwork.build(this.shape, this.nodes);
+        this.plan = TransmissionDistributionPlan.compile(TransmissionChain.buildFromSnapshot(null, this.network.capture()));
+    }
+
+    @Benchmark
+    public double distributeTick() {
+        this.plan.distributeToNodes(null, null, 100F, true);
+        return this.network.getReceivedStarlight();
+    }
+}
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
+import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionProvider;
+import hellfirepvp.astralsorcery.common.util.world.InMemoryWorldView;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Tuple;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SyntheticNetwork
+ * Created by agent
+ * Date: 18.10.2026 / 05:20
+ */
+//Starlight network graphs made of stand-in nodes that only know their links.
+//Nothing here touches a world, so chains can be captured and built outside of a running server.
+public class SyntheticNetwork {
+
+    private static final int SPACING = 4;
+    private static final int BASE_Y = 64;
+
+    private final SyntheticNode root;
+    private final List<SyntheticNode> nodes = new ArrayList<>();
+    private final List<SyntheticReceiver> receivers = new ArrayList<>();
+    private final List<SyntheticNode> collectors = new ArrayList<>();
+
+    private SyntheticNetwork(SyntheticNode root) {
+        this.root = root;
+    }
+
+    public static SyntheticNetwork build(Shape shape, int nodeCount) {
+        switch (shape) {
+            case CHAIN:
+                return buildChain(nodeCount);
+            case FAN:
+                return buildFan(nodeCount);
+            case LATTICE:
+                return buildGrid(nodeCount, false);
+            case PRISM_MESH:
+                return buildGrid(nodeCount, true);
+        }
+        throw new IllegalArgumentException("Unknown shape " + shape);
+    }
+
+    //Lenses in a line, the last one pointing at a receiver.
+    private static SyntheticNetwork buildChain(int nodeCount) {
+        SyntheticNode prev = new SyntheticNode(pos(0, 0));
+        SyntheticNetwork network = new SyntheticNetwork(prev);
+        network.nodes.add(prev);
+        for (int i = 1; i < nodeCount; i++) {
+            SyntheticNode node = new SyntheticNode(pos(i, 0));
+            prev.linkTo(node);
+            network.nodes.add(node);
+            prev = node;
+        }
+        prev.linkTo(network.addReceiver(pos(nodeCount, 0)));
+        return network;
+    }
+
+    //One prism splitting into lenses, each pointing at a receiver or a plain block.
+    private static SyntheticNetwork buildFan(int nodeCount) {
+        SyntheticNode root = new SyntheticNode(pos(0, 0));
+        SyntheticNetwork network = new SyntheticNetwork(root);
+        network.nodes.add(root);
+        for (int i = 1; i < nodeCount; i++) {
+            SyntheticNode node = new SyntheticNode(pos(1, i));
+            root.linkTo(node);
+            network.nodes.add(node);
+            if (i % 2 == 0) {
+                node.linkTo(network.addReceiver(pos(2, i)));
+            } else {
+                node.linkToBlock(pos(2, i));
+            }
+        }
+        return network;
+    }
+
+    //Square grid of prisms, each splitting towards +x and +z. The far edges point at receivers and blocks.
+    //If wrapped, the far edges link back to the opposite side instead, creating cycles everywhere.
+    private static SyntheticNetwork buildGrid(int nodeCount, boolean wrapped) {
+        int size = Math.max(1, (int) Math.round(Math.sqrt(nodeCount)));
+        SyntheticNode[][] grid = new SyntheticNode[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                grid[x][z] = new SyntheticNode(pos(x, z));
+            }
+        }
+
+        SyntheticNetwork network = new SyntheticNetwork(grid[0][0]);
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                SyntheticNode node = grid[x][z];
+                network.nodes.add(node);
+                if (x + 1 < size) {
+                    node.linkTo(grid[x + 1][z]);
+                } else if (wrapped) {
+                    node.linkTo(grid[0][z]);
+                } else {
+                    node.linkTo(network.addReceiver(pos(size, z)));
+                }
+                if (z + 1 < size) {
+                    node.linkTo(grid[x][z + 1]);
+                } else if (wrapped) {
+                    node.linkTo(grid[x][0]);
+                } else {
+                    node.linkToBlock(pos(x, size));
+                }
+            }
+        }
+        return network;
+    }
+
+    //Collectors all linking into the root of a lattice, like a central distribution hub fed by many sources.
+    public static SyntheticNetwork buildHub(int collectorCount, int cascadeNodes) {
+        SyntheticNetwork network = buildGrid(cascadeNodes, false);
+        for (int i = 0; i < collectorCount; i++) {
+            SyntheticNode collector = new SyntheticNode(pos(-1, i));
+            collector.linkTo(network.root);
+            network.collectors.add(collector);
+        }
+        return network;
+    }
+
+    private static BlockPos pos(int x, int z) {
+        return new BlockPos(x * SPACING, BASE_Y, z * SPACING);
+    }
+
+    private SyntheticReceiver addReceiver(BlockPos pos) {
+        SyntheticReceiver receiver = new SyntheticReceiver(pos);
+        this.receivers.add(receiver);
+        return receiver;
+    }
+
+    public NetworkSnapshot capture() {
+        return NetworkSnapshot.capture(null, this.root, this.root.getLocationPos(), null);
+    }
+
+    public NetworkSnapshot captureCollector(int index, @Nullable SubgraphMemo memo) {
+        SyntheticNode collector = this.collectors.get(index);
+        return NetworkSnapshot.capture(null, collector, collector.getLocationPos(), memo);
+    }
+
+    public int getCollectorCount() {
+        return this.collectors.size();
+    }
+
+    public int getNodeCount() {
+        return this.nodes.size();
+    }
+
+    //Every link of the network, from the linking node to the position it links to.
+    public List<Tuple<BlockPos, BlockPos>> getLinks() {
+        List<Tuple<BlockPos, BlockPos>> links = new ArrayList<>();
+        List<SyntheticNode> linking = new ArrayList<>(this.nodes);
+        linking.addAll(this.collectors);
+        for (SyntheticNode node : linking) {
+            for (NodeConnection<IPrismTransmissionNode> next : node.next) {
+                links.add(new Tuple<>(node.pos, next.getTo()));
+            }
+        }
+        return links;
+    }
+
+    //A world with all chunks of the network loaded and stone at every block a lens points at.
+    //Every link passes through a glass block halfway, every third link is blocked by stone there instead.
+    public InMemoryWorldView createWorldView() {
+        InMemoryWorldView view = new InMemoryWorldView(World.OVERWORLD);
+        List<Tuple<BlockPos, BlockPos>> links = getLinks();
+        for (int i = 0; i < links.size(); i++) {
+            BlockPos from = links.get(i).getA();
+            BlockPos to = links.get(i).getB();
+            view.loadChunks(from, to);
+            BlockPos halfway = new BlockPos((from.getX() + to.getX()) / 2, BASE_Y, (from.getZ() + to.getZ()) / 2);
+            if (!halfway.equals(from) && !halfway.equals(to)) {
+                view.setBlockState(halfway, i % 3 == 0 ? Blocks.STONE.getDefaultState() : Blocks.GLASS.getDefaultState());
+            }
+        }
+        for (SyntheticNode node : this.nodes) {
+            for (NodeConnection<IPrismTransmissionNode> next : node.next) {
+                if (next.getNode() == null) {
+                    view.setBlockState(next.getTo(), Blocks.STONE.getDefaultState());
+                }
+            }
+        }
+        return view;
+    }
+
+    public double getReceivedStarlight() {
+        double received = 0;
+        for (SyntheticReceiver receiver : this.receivers) {
+            received += receiver.received;
+        }
+        return received;
+    }
+
+    public enum Shape {
+
+        CHAIN,
+        FAN,
+        LATTICE,
+        PRISM_MESH
+
+    }
+
+    private static class SyntheticNode implements IPrismTransmissionNode {
+
+        private final BlockPos pos;
+        private final List<NodeConnection<IPrismTransmissionNode>> next = new ArrayList<>();
+        private final List<BlockPos> sources = new ArrayList<>();
+
+        private SyntheticNode(BlockPos pos) {
+            this.pos = pos;
+        }
+
+        private void linkTo(SyntheticNode node) {
+            this.next.add(new NodeConnection<>(node, node.getLocationPos(), true));
+            node.sources.add(this.pos);
+        }
+
+        private void linkToBlock(BlockPos pos) {
+            this.next.add(new NodeConnection<>(null, pos, true));
+        }
+
+        @Override
+        public BlockPos getLocationPos() {
+            return this.pos;
+        }
+
+        @Override
+        public List<NodeConnection<IPrismTransmissionNode>> queryNext(WorldNetworkHandler handler) {
+            return this.next;
+        }
+
+        @Override
+        public boolean notifyUnlink(World world, BlockPos to) {
+            return false;
+        }
+
+        @Override
+        public void notifyLink(World world, BlockPos to) {}
+
+        @Override
+        public void notifySourceLink(World world, BlockPos source) {}
+
+        @Override
+        public void notifySourceUnlink(World world, BlockPos source) {}
+
+        @Override
+        public boolean notifyBlockChange(World world, BlockPos changed) {
+            return false;
+        }
+
+        @Override
+        public List<BlockPos> getSources() {
+            return this.sources;
+        }
+
+        @Override
+        public TransmissionProvider getProvider() {
+            return null;
+        }
+
+        @Override
+        public void readFromNBT(CompoundNBT compound, BlockPos pos) {}
+
+        @Override
+        public void writeToNBT(CompoundNBT compound) {}
+    }
+
+    private static class SyntheticReceiver extends SyntheticNode implements ITransmissionReceiver {
+
+        private double received = 0;
+
+        private SyntheticReceiver(BlockPos pos) {
+            super(pos);
+        }
+
+        @Override
+        public List<NodeConnection<IPrismTransmissionNode>> queryNext(WorldNetworkHandler handler) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void notifyLink(World world, BlockPos to) {}
+
+        @Override
+        public boolean notifyUnlink(World world, BlockPos to) {
+            return false;
+        }
+
+        @Override
+        public void onStarlightReceive(World world, IWeakConstellation type, double amount) {
+            this.received += amount;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: TransmissionChainBenchmark
+ * Created by agent
+ * Date: 18.10.2026 / 05:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransmissionChainBenchmark {
+
+    @Param({"CHAIN", "FAN", "LATTICE", "PRISM_MESH"})
+    public SyntheticNetwork.Shape shape;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nodes;
+
+    private SyntheticNetwork network;
+    private NetworkSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        this.network = SyntheticNetwork.build(this.shape, this.nodes);
+        this.snapshot = this.network.capture();
+    }
+
+    @Benchmark
+    public NetworkSnapshot captureSnapshot() {
+        return this.network.capture();
+    }
+
+    @Benchmark
+    public TransmissionChain buildFromSnapshot() {
+        return TransmissionChain.buildFromSnapshot(null, this.snapshot);
+    }
+
+    //Everything an asynchronous rebuild does before it's handed back to the server thread.
+    @Benchmark
+    public TransmissionDistributionPlan captureBuildAndCompile() {
+        TransmissionChain chain = TransmissionChain.buildFromSnapshot(null, this.network.capture());
+        return TransmissionDistributionPlan.compile(chain);
+    }
+}
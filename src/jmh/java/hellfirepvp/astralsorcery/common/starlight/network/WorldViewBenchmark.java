@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.util.RaytraceAssist;
+import hellfirepvp.astralsorcery.common.util.world.InMemoryWorldView;
+import net.minecraft.util.Tuple;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: WorldViewBenchmark
+ * Created by agent
+ * Date: 18.10.2026 / 05:51
+ */
+//The parts of a chain build that read the world, run against an in-memory world:
+//resolving the blocks lenses point at, and the ray checks of every link.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldViewBenchmark {
+
+    @Param({"CHAIN", "FAN", "LATTICE", "PRISM_MESH"})
+    public SyntheticNetwork.Shape shape;
+
+    @Param({"10", "100", "1000"})
+    public int nodes;
+
+    private InMemoryWorldView view;
+    private List<Tuple<BlockPos, BlockPos>> links;
+    private TransmissionChain chain;
+
+    @Setup
+    public void setup() {
+        Bootstrap.register();
+        SyntheticNetwork network = SyntheticNetwork.build(this.shape, this.nodes);
+        this.view = network.createWorldView();
+        this.links = network.getLinks();
+        this.chain = TransmissionChain.buildFromSnapshot(null, network.capture());
+    }
+
+    @Benchmark
+    public int resolveEndpoints() {
+        this.chain.resolveLoadedEndpoints(this.view);
+        return this.chain.getResolvedNormalBlockPositions().size();
+    }
+
+    @Benchmark
+    public int checkLinkRays() {
+        int clear = 0;
+        for (Tuple<BlockPos, BlockPos> link : this.links) {
+            if (new RaytraceAssist(link.getA(), link.getB()).isClear(this.view)) {
+                clear++;
+            }
+        }
+        return clear;
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: RaytraceAssistBenchmark
+ * Created by agent
+ * Date: 18.10.2026 / 05:20
+ */
+//Walks the blocks along beams of the given length in random directions,
+//once with the exact voxel traversal and once with the stepped sampling.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaytraceAssistBenchmark {
+
+    private static final int BEAMS = 256;
+
+    @Param({"4", "16", "32", "64"})
+    public int length;
+
+    private final BlockPos[] starts = new BlockPos[BEAMS];
+    private final BlockPos[] targets = new BlockPos[BEAMS];
+    private int beam = 0;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(0x5EED);
+        for (int i = 0; i < BEAMS; i++) {
+            BlockPos start = new BlockPos(rand.nextInt(1024), 64 + rand.nextInt(64), rand.nextInt(1024));
+            double yaw = rand.nextDouble() * Math.PI * 2;
+            double pitch = (rand.nextDouble() - 0.5) * Math.PI;
+            this.starts[i] = start;
+            this.targets[i] = start.add(
+                    (int) Math.round(Math.cos(yaw) * Math.cos(pitch) * this.length),
+                    (int) Math.round(Math.sin(pitch) * this.length),
+                    (int) Math.round(Math.sin(yaw) * Math.cos(pitch) * this.length));
+        }
+    }
+
+    private RaytraceAssist nextBeam() {
+        this.beam = (this.beam + 1) % BEAMS;
+        return new RaytraceAssist(this.starts[this.beam], this.targets[this.beam]);
+    }
+
+    @Benchmark
+    public boolean exactTraversal(Blackhole blackhole) {
+        return nextBeam().forEachVoxel(pos -> {
+            blackhole.consume(pos.toLong());
+            return true;
+        });
+    }
+
+    @Benchmark
+    public boolean steppedSampling(Blackhole blackhole) {
+        return nextBeam().forEachBlockPos(pos -> {
+            blackhole.consume(pos.toLong());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util;
+
+import hellfirepvp.astralsorcery.common.util.data.Vector3;
+import net.minecraft.util.Tuple;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: RaytraceTraversalCheck
+ * Created by agent
+ * Date: 18.10.2026 / 05:49
+ */
+//Runs the exact voxel traversal and the stepped sampling of RaytraceAssist against each other, run with 'gradlew compareRaytraceModes'.
+//The rays go from block center to block center like starlight links do, many of them passing exactly through block edges and corners,
+//plus the same rays nudged slightly off them, grazing the corners on either side.
+//Exits with an error if the modes visit different blocks for any ray, in either direction.
+public class RaytraceTraversalCheck {
+
+    private static final int RANGE = 6;
+    private static final double NUDGE = 0.001;
+    private static final int MAX_REPORTED = 20;
+
+    private int rays = 0;
+    private int missedRays = 0, skippedRays = 0;
+    private int reported = 0;
+
+    public static void main(String[] args) {
+        RaytraceTraversalCheck check = new RaytraceTraversalCheck();
+        Vector3 start = new Vector3(0.5, 0.5, 0.5);
+        for (int x = -RANGE; x <= RANGE; x++) {
+            for (int y = -RANGE; y <= RANGE; y++) {
+                for (int z = -RANGE; z <= RANGE; z++) {
+                    if (x == 0 && y == 0 && z == 0) {
+                        continue;
+                    }
+                    Vector3 target = new Vector3(x + 0.5, y + 0.5, z + 0.5);
+                    check.compare(start, target);
+                    for (int nudge = 0; nudge < 8; nudge++) {
+                        check.compare(start, target.clone().add(
+                                (nudge & 1) == 0 ? NUDGE : -NUDGE,
+                                (nudge & 2) == 0 ? NUDGE : -NUDGE,
+                                (nudge & 4) == 0 ? NUDGE : -NUDGE));
+                    }
+                }
+            }
+        }
+
+        System.out.println(check.rays + " rays compared.");
+        System.out.println(check.missedRays + " rays where the voxel traversal missed sampled blocks.");
+        System.out.println(check.skippedRays + " rays where the voxel traversal visited blocks the sampling skipped.");
+        if (check.missedRays > 0 || check.skippedRays > 0) {
+            System.out.println("The traversal modes are not equivalent.");
+            System.exit(1);
+        }
+        System.out.println("The traversal modes are equivalent.");
+    }
+
+    private void compare(Vector3 start, Vector3 target) {
+        this.rays++;
+        Tuple<List<BlockPos>, List<BlockPos>> difference = new RaytraceAssist(start, target).compareTraversals();
+        if (!difference.getA().isEmpty()) {
+            this.missedRays++;
+        }
+        if (!difference.getB().isEmpty()) {
+            this.skippedRays++;
+        }
+        if ((!difference.getA().isEmpty() || !difference.getB().isEmpty()) && this.reported < MAX_REPORTED) {
+            this.reported++;
+            System.out.println(start + " -> " + target + ": missed " + difference.getA() + ", skipped " + difference.getB());
+        }
+    }
+}
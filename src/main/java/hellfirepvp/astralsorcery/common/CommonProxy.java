@@ -23,6 +23,7 @@ import hellfirepvp.astralsorcery.common.constellation.SkyHandler;
 import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffectRegistry;
 import hellfirepvp.astralsorcery.common.constellation.mantle.MantleEffectRegistry;
 import hellfirepvp.astralsorcery.common.crafting.recipe.altar.AltarRecipeTypeHandler;
+import hellfirepvp.astralsorcery.common.crystal.CrystalCalculations;
 import hellfirepvp.astralsorcery.common.data.config.CommonConfig;
 import hellfirepvp.astralsorcery.common.data.config.ServerConfig;
 import hellfirepvp.astralsorcery.common.data.config.base.ConfigRegistries;
@@ -40,6 +41,7 @@ import hellfirepvp.astralsorcery.common.integration.IntegrationCraftTweaker;
 import hellfirepvp.astralsorcery.common.integration.IntegrationCurios;
 import hellfirepvp.astralsorcery.common.item.armor.ArmorMaterialImbuedLeather;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktOpenGui;
 import hellfirepvp.astralsorcery.common.perk.PerkAttributeLimiter;
 import hellfirepvp.astralsorcery.common.perk.PerkCooldownHelper;
@@ -57,6 +59,7 @@ import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionH
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionChunkTracker;
 import hellfirepvp.astralsorcery.common.tile.TileTreeBeacon;
+import hellfirepvp.astralsorcery.common.tile.base.TileSyncHandler;
 import hellfirepvp.astralsorcery.common.util.BlockDropCaptureAssist;
 import hellfirepvp.astralsorcery.common.util.DamageSourceUtil;
 import hellfirepvp.astralsorcery.common.util.ServerLifecycleListener;
@@ -72,6 +75,7 @@ import net.minecraft.item.ItemGroup;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Rarity;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.resources.IResourceManagerReloadListener;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.text.TextFormatting;
@@ -86,6 +90,7 @@ import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.LogicalSidedProvider;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.InterModEnqueueEvent;
 import net.minecraftforge.fml.event.server.FMLServerStartedEvent;
@@ -195,6 +200,8 @@ public class CommonProxy {
     public void attachLifecycle(IEventBus modEventBus) {
         modEventBus.addListener(this::onCommonSetup);
         modEventBus.addListener(this::onEnqueueIMC);
+        modEventBus.addListener(this::onConfigLoad);
+        modEventBus.addListener(this::onConfigReload);
 
         modEventBus.addListener(RegistryRegistries::buildRegistries);
         modEventBus.addListener(RegistryEntities::initAttributes);
@@ -239,6 +246,8 @@ public class CommonProxy {
         registrar.accept(StarlightTransmissionHandler.getInstance());
         registrar.accept(StarlightUpdateHandler.getInstance());
         registrar.accept(SyncDataHolder.getTickInstance());
+        registrar.accept(PlayEffectBatcher.getInstance());
+        registrar.accept(TileSyncHandler.getInstance());
         registrar.accept(LinkHandler.getInstance());
         registrar.accept(SkyHandler.getInstance());
         registrar.accept(PlayerAmuletHandler.INSTANCE);
@@ -368,10 +377,23 @@ public class CommonProxy {
         Mods.CURIOS.executeIfPresent(() -> IntegrationCurios::initIMC);
     }
 
+    private void onConfigLoad(ModConfig.Loading event) {
+        if (AstralSorcery.MODID.equals(event.getConfig().getModId())) {
+            CrystalCalculations.clearCache();
+        }
+    }
+
+    private void onConfigReload(ModConfig.Reloading event) {
+        if (AstralSorcery.MODID.equals(event.getConfig().getModId())) {
+            CrystalCalculations.clearCache();
+        }
+    }
+
     // Generic events
 
     private void onRegisterReloadListeners(AddReloadListenerEvent event) {
         event.addListener(PerkTreeLoader.INSTANCE);
+        event.addListener((IResourceManagerReloadListener) resourceManager -> StarlightNetworkRegistry.invalidateResolvedHandlers());
     }
 
     private void onServerStarted(FMLServerStartedEvent event) {
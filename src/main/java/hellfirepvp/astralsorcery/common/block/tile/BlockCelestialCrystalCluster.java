@@ -14,7 +14,7 @@ import hellfirepvp.astralsorcery.common.block.base.CustomItemBlock;
 import hellfirepvp.astralsorcery.common.block.tile.crystal.CollectorCrystalType;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
 import hellfirepvp.astralsorcery.common.item.block.ItemBlockCelestialCrystalCluster;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.TileCelestialCrystals;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -142,7 +142,7 @@ public class BlockCelestialCrystalCluster extends BlockCrystalContainer implemen
             PktPlayEffect effect = new PktPlayEffect(PktPlayEffect.Type.SMALL_CRYSTAL_BREAK)
                     .addData(buf -> ByteBufUtils.writeVector(buf,
                             new Vector3(pos).add(state.getOffset(world, pos)).add(0.5, 0.4, 0.5)));
-            PacketChannel.CHANNEL.sendToAllAround(effect, PacketChannel.pointFromPos(world, pos, 32));
+            PlayEffectBatcher.sendToAllAround(effect, world, pos, 32);
         }
     }
 
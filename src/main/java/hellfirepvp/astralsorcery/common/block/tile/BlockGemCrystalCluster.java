@@ -13,7 +13,7 @@ import hellfirepvp.astralsorcery.common.block.tile.crystal.CollectorCrystalType;
 import hellfirepvp.astralsorcery.common.constellation.world.DayTimeHelper;
 import hellfirepvp.astralsorcery.common.item.block.ItemBlockGemCrystalCluster;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.TileGemCrystals;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
@@ -137,7 +137,7 @@ public class BlockGemCrystalCluster extends ContainerBlock implements CustomItem
                         ByteBufUtils.writeVector(buf, new Vector3(pos).add(state.getOffset(world, pos)));
                         buf.writeInt(state.get(STAGE).ordinal());
                     });
-            PacketChannel.CHANNEL.sendToAllAround(effect, PacketChannel.pointFromPos(world, pos, 32));
+            PlayEffectBatcher.sendToAllAround(effect, world, pos, 32);
         }
     }
 
@@ -31,6 +31,7 @@ public class CommandAstralSorcery {
                         .then(CommandConstellation.register())
                         .then(CommandExp.register())
                         .then(CommandMaximizeAll.register())
+                        .then(CommandNetworkStats.register())
                         .then(CommandReset.register())
                         .then(CommandProgress.register())
                         .then(CommandSerialize.register())
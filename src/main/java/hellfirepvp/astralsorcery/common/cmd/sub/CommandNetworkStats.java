@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.cmd.sub;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import hellfirepvp.astralsorcery.common.starlight.network.NetworkTelemetry;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TextFormatting;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: CommandNetworkStats
+ * Created by agent
+ * Date: 18.10.2026 / 05:18
+ */
+public class CommandNetworkStats {
+
+    private static final int DEFAULT_TOP_SOURCES = 5;
+
+    private CommandNetworkStats() {}
+
+    public static ArgumentBuilder<CommandSource, ?> register() {
+        return Commands.literal("networkstats")
+                .requires(cs -> cs.hasPermissionLevel(2))
+                .executes(ctx -> showStats(ctx, DEFAULT_TOP_SOURCES))
+                .then(Commands.argument("sources", IntegerArgumentType.integer(0, 50))
+                        .executes(ctx -> showStats(ctx, IntegerArgumentType.getInteger(ctx, "sources"))))
+                .then(Commands.literal("reset")
+                        .executes(CommandNetworkStats::resetStats));
+    }
+
+    private static int showStats(CommandContext<CommandSource> context, int topSources) {
+        for (String line : NetworkTelemetry.summarize(topSources)) {
+            context.getSource().sendFeedback(new StringTextComponent(line).mergeStyle(TextFormatting.GREEN), false);
+        }
+        if (!NetworkTelemetry.isJfrAvailable()) {
+            context.getSource().sendFeedback(new StringTextComponent("Flight recorder events are not available on this runtime.").mergeStyle(TextFormatting.GRAY), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int resetStats(CommandContext<CommandSource> context) {
+        NetworkTelemetry.reset();
+        context.getSource().sendFeedback(new StringTextComponent("Starlight network statistics have been reset.").mergeStyle(TextFormatting.GREEN), true);
+        return Command.SINGLE_SUCCESS;
+    }
+}
@@ -18,7 +18,7 @@ import hellfirepvp.astralsorcery.common.constellation.IMinorConstellation;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
 import hellfirepvp.astralsorcery.common.data.config.base.ConfigEntry;
 import hellfirepvp.astralsorcery.common.event.PlayerAffectionFlags;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.TileRitualLink;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
@@ -135,7 +135,7 @@ public abstract class ConstellationEffect {
                     ByteBufUtils.writeVector(buf, at);
                     ByteBufUtils.writeRegistryEntry(buf, cst);
                 });
-        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, at.toBlockPos(), 32));
+        PlayEffectBatcher.sendToAllAround(pkt, world, at.toBlockPos(), 32);
     }
 
     protected void markPlayerAffected(PlayerEntity player) {
@@ -19,7 +19,7 @@ import hellfirepvp.astralsorcery.common.event.PlayerAffectionFlags;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
 import hellfirepvp.astralsorcery.common.lib.ConstellationsAS;
 import hellfirepvp.astralsorcery.common.lib.EffectsAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -111,7 +111,7 @@ public class CEffectAevitas extends CEffectAbstractList<CropHelper.GrowablePlant
                         if (plant.tryGrow(world, rand)) {
                             PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.CROP_GROWTH)
                                     .addData(buf -> ByteBufUtils.writeVector(buf, new Vector3(plant.getPos())));
-                            PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, plant.getPos(), 16));
+                            PlayEffectBatcher.sendToAllAround(pkt, world, plant.getPos(), 16);
                             changedFlag = true;
                         }
                     }
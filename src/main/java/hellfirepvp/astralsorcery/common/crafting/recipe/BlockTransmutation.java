@@ -66,10 +66,18 @@ public class BlockTransmutation extends CustomMatcherRecipe implements GatedReci
     }
 
     public boolean matches(@Nonnull IWorld world, @Nonnull BlockPos pos, @Nonnull BlockState state, @Nonnull IWeakConstellation constellation) {
+        return this.matchesState(state) && this.matchesConstellation(constellation);
+    }
+
+    public boolean matchesState(@Nonnull BlockState state) {
         if (this.matcher == null) {
             this.matcher = PredicateBuilder.joinOr(stateCheck);
         }
-        return this.matcher.test(state) && (this.constellation == null || this.constellation.equals(constellation));
+        return this.matcher.test(state);
+    }
+
+    public boolean matchesConstellation(@Nonnull IWeakConstellation constellation) {
+        return this.constellation == null || this.constellation.equals(constellation);
     }
 
     public void addInputOption(BlockMatchInformation test) {
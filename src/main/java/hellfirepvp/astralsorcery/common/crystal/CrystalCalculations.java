@@ -8,13 +8,22 @@
 
 package hellfirepvp.astralsorcery.common.crystal;
 
+import hellfirepvp.astralsorcery.common.constellation.IMinorConstellation;
+import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.crystal.calc.PropertySource;
+import hellfirepvp.astralsorcery.common.crystal.calc.PropertyUsage;
+import hellfirepvp.astralsorcery.common.crystal.source.AttunedSourceInstance;
 import hellfirepvp.astralsorcery.common.crystal.source.Ritual;
+import hellfirepvp.astralsorcery.common.crystal.source.TraitedSourceInstance;
 import hellfirepvp.astralsorcery.common.starlight.transmission.base.crystal.IndependentCrystalSource;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
 import hellfirepvp.astralsorcery.common.tile.network.StarlightReceiverRitualPedestal;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.MathHelper;
 
+import javax.annotation.Nullable;
+import java.util.*;
+
 import static hellfirepvp.astralsorcery.common.lib.CrystalPropertiesAS.Properties.PROPERTY_SIZE;
 import static hellfirepvp.astralsorcery.common.lib.CrystalPropertiesAS.Sources.*;
 import static hellfirepvp.astralsorcery.common.lib.CrystalPropertiesAS.Usages.*;
@@ -30,6 +39,16 @@ public class CrystalCalculations {
 
     private static final float TICKS_PER_HOUR = 60 * 60 * 20; // 72_000
 
+    //Factors of the calculations below, keyed by attributes, usage and source. Least recently used ones are dropped first.
+    private static final int MAX_CACHED_FACTORS = 4096;
+    private static final Map<FactorKey, Double> cachedFactors = Collections.synchronizedMap(
+            new LinkedHashMap<FactorKey, Double>(256, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<FactorKey, Double> eldest) {
+                    return this.size() > MAX_CACHED_FACTORS;
+                }
+            });
+
     private CrystalCalculations() {}
 
     public static double calculate(double value, CrystalAttributes attributes, CalculationContext context) {
@@ -39,6 +58,25 @@ public class CrystalCalculations {
         return value;
     }
 
+    //Same as calculate for a value of 1.0, the context only gets built if the factor isn't known yet.
+    private static double calculateFactor(CrystalAttributes attributes, PropertyUsage usage, @Nullable PropertySource.SourceInstance source) {
+        FactorKey key = new FactorKey(attributes, usage, source);
+        Double factor = cachedFactors.get(key);
+        if (factor == null) {
+            CalculationContext.Builder ctx = CalculationContext.Builder.withUsage(usage);
+            if (source != null) {
+                ctx.fromSource(source);
+            }
+            factor = calculate(1.0, attributes, ctx.build());
+            cachedFactors.put(key, factor);
+        }
+        return factor;
+    }
+
+    public static void clearCache() {
+        cachedFactors.clear();
+    }
+
     // Range: 1.0 - 2.73
     public static double getRitualEffectRangeFactor(StarlightReceiverRitualPedestal pedestal, CrystalAttributes attributes) {
         return getRitualEffectRangeFactor(SOURCE_RITUAL_PEDESTAL.createInstance(pedestal), attributes);
@@ -49,22 +87,13 @@ public class CrystalCalculations {
     }
 
     private static double getRitualEffectRangeFactor(Ritual pedestalSrc, CrystalAttributes attributes) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .fromSource(pedestalSrc)
-                .addUsage(USE_RITUAL_RANGE)
-                .build();
-        return calculate(1.0F, attributes, ctx);
+        return calculateFactor(attributes, USE_RITUAL_RANGE, pedestalSrc);
     }
 
     // Range: 1.0 - 5.985
     public static double getRitualCostReductionFactor(StarlightReceiverRitualPedestal pedestal,
                                                       CrystalAttributes attributes) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .fromSource(SOURCE_RITUAL_PEDESTAL.createInstance(pedestal))
-                .addUsage(USE_RITUAL_EFFECT)
-                .build();
-
-        return 1.0D / calculate(1.0, attributes, ctx);
+        return 1.0D / calculateFactor(attributes, USE_RITUAL_EFFECT, SOURCE_RITUAL_PEDESTAL.createInstance(pedestal));
     }
 
     // Range: 1 - 7
@@ -79,36 +108,23 @@ public class CrystalCalculations {
 
     // Range: 1.0 - 11.0131125
     public static float getCollectorCrystalCollectionRate(IndependentCrystalSource collectorSource) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .fromSource(SOURCE_COLLECTOR_CRYSTAL.createInstance(collectorSource))
-                .addUsage(USE_COLLECTOR_CRYSTAL)
-                .build();
         CrystalAttributes attr = collectorSource.getCrystalAttributes();
-        return (float) calculate(1.0, attr, ctx);
+        return (float) calculateFactor(attr, USE_COLLECTOR_CRYSTAL, SOURCE_COLLECTOR_CRYSTAL.createInstance(collectorSource));
     }
 
     // Range: 1.0 - 8.471625
     public static float getCrystalCollectionRate(CrystalAttributes attributes) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .addUsage(USE_COLLECTOR_CRYSTAL)
-                .build();
-        return (float) calculate(1.0, attributes, ctx);
+        return (float) calculateFactor(attributes, USE_COLLECTOR_CRYSTAL, null);
     }
 
     // Range: 0.75 - 1.0
     public static float getThroughputMultiplier(CrystalAttributes attributes) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .addUsage(USE_LENS_TRANSFER)
-                .build();
-        return MathHelper.clamp((float) calculate(1F, attributes, ctx), 0F, 1F);
+        return MathHelper.clamp((float) calculateFactor(attributes, USE_LENS_TRANSFER, null), 0F, 1F);
     }
 
     // Range: 1.0 - 1.6
     public static float getThroughputEffectMultiplier(CrystalAttributes attributes) {
-        CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                .addUsage(USE_LENS_EFFECT)
-                .build();
-        return MathHelper.clamp((float) calculate(1F, attributes, ctx), 0F, 1F);
+        return MathHelper.clamp((float) calculateFactor(attributes, USE_LENS_EFFECT, null), 0F, 1F);
     }
 
     // Range: 1.0 - 11.56 (Multiplier)
@@ -116,10 +132,7 @@ public class CrystalCalculations {
         if (tool.getItem() instanceof CrystalAttributeItem) {
             CrystalAttributes attr = ((CrystalAttributeItem) tool.getItem()).getAttributes(tool);
             if (attr != null) {
-                CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                        .addUsage(USE_TOOL_DURABILITY)
-                        .build();
-                durability = (int) Math.round(durability * calculate(1.0, attr, ctx));
+                durability = (int) Math.round(durability * calculateFactor(attr, USE_TOOL_DURABILITY, null));
             }
         }
         return durability;
@@ -132,13 +145,60 @@ public class CrystalCalculations {
         if (tool.getItem() instanceof CrystalAttributeItem) {
             CrystalAttributes attr = ((CrystalAttributeItem) tool.getItem()).getAttributes(tool);
             if (attr != null) {
-                CalculationContext ctx = CalculationContext.Builder.newBuilder()
-                        .addUsage(USE_TOOL_EFFECTIVENESS)
-                        .build();
-                efficiency *= calculate(1.0, attr, ctx);
+                efficiency *= calculateFactor(attr, USE_TOOL_EFFECTIVENESS, null);
             }
         }
         return efficiency;
     }
 
+    //Attributes are copied, as the discovered state of an attribute may still change. It doesn't matter for calculations.
+    //Sources are told apart by their kind, attunement and trait, which is everything the properties look at.
+    private static class FactorKey {
+
+        private final CrystalProperty[] properties;
+        private final int[] tiers;
+        private final PropertyUsage usage;
+        @Nullable
+        private final PropertySource<?, ?> source;
+        @Nullable
+        private final IWeakConstellation attunement;
+        @Nullable
+        private final IMinorConstellation trait;
+        private final int hash;
+
+        private FactorKey(CrystalAttributes attributes, PropertyUsage usage, @Nullable PropertySource.SourceInstance source) {
+            List<CrystalAttributes.Attribute> attributeList = attributes.getCrystalAttributes();
+            this.properties = new CrystalProperty[attributeList.size()];
+            this.tiers = new int[attributeList.size()];
+            for (int i = 0; i < attributeList.size(); i++) {
+                CrystalAttributes.Attribute attribute = attributeList.get(i);
+                this.properties[i] = attribute.getProperty();
+                this.tiers[i] = attribute.getTier();
+            }
+            this.usage = usage;
+            this.source = source != null ? source.getSource() : null;
+            this.attunement = source instanceof AttunedSourceInstance ? ((AttunedSourceInstance) source).getAttunedConstellation() : null;
+            this.trait = source instanceof TraitedSourceInstance ? ((TraitedSourceInstance) source).getTraitConstellation() : null;
+            this.hash = Objects.hash(Arrays.hashCode(this.properties), Arrays.hashCode(this.tiers), this.usage, this.source, this.attunement, this.trait);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FactorKey that = (FactorKey) o;
+            return hash == that.hash &&
+                    Arrays.equals(properties, that.properties) &&
+                    Arrays.equals(tiers, that.tiers) &&
+                    Objects.equals(usage, that.usage) &&
+                    Objects.equals(source, that.source) &&
+                    Objects.equals(attunement, that.attunement) &&
+                    Objects.equals(trait, that.trait);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
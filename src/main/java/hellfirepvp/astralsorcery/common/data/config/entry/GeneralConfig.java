@@ -34,6 +34,10 @@ public class GeneralConfig extends ConfigEntry {
 
     public ForgeConfigSpec.BooleanValue doColoredLensesAffectPlayers;
 
+    public ForgeConfigSpec.BooleanValue interestManagedSync;
+    public ForgeConfigSpec.IntValue playEffectBudget;
+    public ForgeConfigSpec.IntValue tileSyncInterval;
+
     private GeneralConfig() {
         super("general");
     }
@@ -64,6 +68,21 @@ public class GeneralConfig extends ConfigEntry {
                 .comment("Set this to false to prevent players from being affected by entity-related colored lens effects.")
                 .translation(translationKey("doColoredLensesAffectPlayers"))
                 .define("doColoredLensesAffectPlayers", true);
+
+        interestManagedSync = cfgBuilder
+                .comment("If this is set to true, players only receive light beams and time freeze effects of their own dimension and surroundings. If set to false, every player receives them for the whole server. Turning this off only fully applies to players joining afterwards.")
+                .translation(translationKey("interestManagedSync"))
+                .define("interestManagedSync", true);
+
+        playEffectBudget = cfgBuilder
+                .comment("Defines how many visual effects a player receives at most per tick. If more effects happen around a player in a tick, only the ones closest to them are sent.")
+                .translation(translationKey("playEffectBudget"))
+                .defineInRange("playEffectBudget", 128, 1, 4096);
+
+        tileSyncInterval = cfgBuilder
+                .comment("Defines the minimum amount of ticks between two updates of the same block (altars, infusers, etc.) sent to players. Changes in between are sent together with the next update. Higher values reduce network traffic, but make displayed values update less smoothly.")
+                .translation(translationKey("tileSyncInterval"))
+                .defineInRange("tileSyncInterval", 4, 1, 100);
     }
 
 }
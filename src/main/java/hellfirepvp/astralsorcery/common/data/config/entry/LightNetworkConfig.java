@@ -23,6 +23,13 @@ public class LightNetworkConfig extends ConfigEntry {
     public static final LightNetworkConfig CONFIG = new LightNetworkConfig();
 
     public ForgeConfigSpec.BooleanValue performNetworkIntegrityCheck;
+    public ForgeConfigSpec.IntValue integrityCheckChunksPerTick;
+    public ForgeConfigSpec.BooleanValue incrementalChainRepair;
+    public ForgeConfigSpec.BooleanValue asyncChainBuilding;
+    public ForgeConfigSpec.BooleanValue sharedSubgraphMemo;
+    public ForgeConfigSpec.IntValue chainBuildThreads;
+    public ForgeConfigSpec.IntValue sourceTickBudgetMicros;
+    public ForgeConfigSpec.IntValue transmutationEffectInterval;
 
     private LightNetworkConfig() {
         super("lightnetwork");
@@ -31,9 +38,44 @@ public class LightNetworkConfig extends ConfigEntry {
     @Override
     public void createEntries(ForgeConfigSpec.Builder cfgBuilder) {
         performNetworkIntegrityCheck = cfgBuilder
-                .comment("NOTE: ONLY run this once and set it to false again afterwards, nothing will be gained by setting this to true permanently, just longer loading times. When set to true and the server started, this will perform an integrity check over all nodes of the starlight network whenever a world gets loaded, removing invalid ones in the process. This might, depending on network sizes, take a while. It'll leave a message in the console when it's done. After this check has been run, you might need to tear down and rebuild your starlight network in case something doesn't work anymore.")
+                .comment("NOTE: ONLY run this once and set it to false again afterwards, nothing will be gained by setting this to true permanently. When set to true and the server started, this will perform an integrity check over all nodes of the starlight network whenever a world gets loaded, removing invalid ones in the process. Nodes are checked as their chunks load, the remaining ones are checked a few chunks per tick as defined by integrityCheckChunksPerTick. This might, depending on network sizes, take a while. It'll leave its progress and a message in the console when it's done. After this check has been run, you might need to tear down and rebuild your starlight network in case something doesn't work anymore.")
                 .translation(translationKey("performNetworkIntegrityCheck"))
                 .define("performNetworkIntegrityCheck", false);
+
+        integrityCheckChunksPerTick = cfgBuilder
+                .comment("Defines how many not yet loaded chunks the integrity check may load per tick to check the nodes in them. Set to 0 to only check nodes when their chunks are loaded regularly.")
+                .translation(translationKey("integrityCheckChunksPerTick"))
+                .defineInRange("integrityCheckChunksPerTick", 2, 0, 64);
+
+        incrementalChainRepair = cfgBuilder
+                .comment("If this is set to true, a change to a lens or prism only recalculates the part of each starlight network below that node. If set to false, every network passing through that node gets rebuilt entirely.")
+                .translation(translationKey("incrementalChainRepair"))
+                .define("incrementalChainRepair", true);
+
+        asyncChainBuilding = cfgBuilder
+                .comment("If this is set to true, starlight networks are calculated on separate threads and take effect on the tick after they finished. If set to false, they are calculated synchronously on the server thread.")
+                .translation(translationKey("asyncChainBuilding"))
+                .define("asyncChainBuilding", true);
+
+        sharedSubgraphMemo = cfgBuilder
+                .comment("If this is set to true, starlight networks of different sources that feed into the same lenses and prisms share the calculation of that common part until the network changes. If set to false, every source walks its whole network on its own.")
+                .translation(translationKey("sharedSubgraphMemo"))
+                .define("sharedSubgraphMemo", true);
+
+        chainBuildThreads = cfgBuilder
+                .comment("Defines how many threads are used to calculate starlight networks if asyncChainBuilding is enabled. Requires a restart to take effect.")
+                .translation(translationKey("chainBuildThreads"))
+                .defineInRange("chainBuildThreads", 2, 1, 16);
+
+        sourceTickBudgetMicros = cfgBuilder
+                .comment("Defines the time in microseconds each dimension may spend per tick distributing starlight from its sources. Sources that don't fit into a tick are processed in the next ones and deliver the starlight of the ticks they missed. Set to 0 to process all sources every tick.")
+                .translation(translationKey("sourceTickBudgetMicros"))
+                .defineInRange("sourceTickBudgetMicros", 2000, 0, 50_000);
+
+        transmutationEffectInterval = cfgBuilder
+                .comment("Defines in how many ticks a block being transmuted by starlight sends its particle effect to nearby players. The particles of the ticks in between are sent along with it.")
+                .translation(translationKey("transmutationEffectInterval"))
+                .defineInRange("transmutationEffectInterval", 5, 1, 40);
     }
 
 }
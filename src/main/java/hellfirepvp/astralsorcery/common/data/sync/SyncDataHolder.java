@@ -9,21 +9,28 @@
 package hellfirepvp.astralsorcery.common.data.sync;
 
 import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.data.config.entry.GeneralConfig;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractDataProvider;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestManagedData;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncPayload;
 import hellfirepvp.astralsorcery.common.data.sync.server.*;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.play.server.PktSyncData;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.observerlib.common.util.tick.ITickHandler;
-import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Tuple;
 import net.minecraft.world.World;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.LogicalSidedProvider;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -54,6 +61,9 @@ public class SyncDataHolder implements ITickHandler {
     private static final Set<ResourceLocation> dirtyData = new HashSet<>();
     private static final Object lck = new Object();
 
+    //The interest each player was last caught up to, only accessed from the server thread.
+    private static final Map<UUID, SyncInterest> playerInterests = new HashMap<>();
+
     private SyncDataHolder() {}
 
     public static SyncDataHolder getTickInstance() {
@@ -113,7 +123,14 @@ public class SyncDataHolder implements ITickHandler {
         }
     }
 
+    public static boolean isInterestManaged() {
+        return GeneralConfig.CONFIG.interestManagedSync.get();
+    }
+
     public static void clear(LogicalSide side) {
+        if (side.isServer()) {
+            playerInterests.clear();
+        }
         for (ResourceLocation key : SyncDataRegistry.getKnownKeys()) {
             if (side.isClient()) {
                 executeClient(key, ClientData.class, ClientData::clearClient);
@@ -133,23 +150,84 @@ public class SyncDataHolder implements ITickHandler {
 
     @Override
     public void tick(TickEvent.Type type, Object... context) {
-        if (dirtyData.isEmpty()) {
+        if (!isInterestManaged()) {
+            playerInterests.clear();
+            if (!dirtyData.isEmpty()) {
+                PacketChannel.CHANNEL.sendToAll(new PktSyncData(collectDiffData(null)));
+            }
             return;
         }
-        Map<ResourceLocation, CompoundNBT> pktData = new HashMap<>();
+        MinecraftServer server = LogicalSidedProvider.INSTANCE.get(LogicalSide.SERVER);
+        if (server == null) {
+            return;
+        }
+
+        Map<ResourceLocation, SyncPayload> globalData = Collections.emptyMap();
+        List<Tuple<ServerPlayerEntity, PktSyncData>> packets = new ArrayList<>();
+        synchronized (lck) {
+            //Changes are sent to the interest players had so far, the snapshots below then contain everything after them.
+            if (!dirtyData.isEmpty()) {
+                Map<SyncInterest, Map<ResourceLocation, SyncPayload>> interestData = new HashMap<>();
+                globalData = collectDiffData(interestData);
+                for (ServerPlayerEntity player : server.getPlayerList().getPlayers()) {
+                    Map<ResourceLocation, SyncPayload> pktData = interestData.get(playerInterests.get(player.getUniqueID()));
+                    if (pktData != null && !pktData.isEmpty()) {
+                        packets.add(new Tuple<>(player, new PktSyncData(pktData)));
+                    }
+                }
+            }
+
+            int viewDistance = server.getPlayerList().getViewDistance();
+            Set<UUID> onlinePlayers = new HashSet<>();
+            for (ServerPlayerEntity player : server.getPlayerList().getPlayers()) {
+                onlinePlayers.add(player.getUniqueID());
+
+                SyncInterest interest = SyncInterest.around(player, viewDistance);
+                SyncInterest previous = playerInterests.put(player.getUniqueID(), interest);
+                if (!interest.equals(previous)) {
+                    SyncInterest missing = interest.without(previous);
+                    Map<ResourceLocation, SyncPayload> pktData = new HashMap<>();
+                    serverData.forEach((key, dat) -> {
+                        if (dat instanceof InterestManagedData) {
+                            pktData.put(key, SyncPayload.writeSnapshot(dat, missing));
+                        }
+                    });
+                    packets.add(new Tuple<>(player, new PktSyncData(pktData, interest)));
+                }
+            }
+            playerInterests.keySet().retainAll(onlinePlayers);
+        }
+        if (!globalData.isEmpty()) {
+            PacketChannel.CHANNEL.sendToAll(new PktSyncData(globalData));
+        }
+        packets.forEach(tpl -> PacketChannel.CHANNEL.sendToPlayer(tpl.getA(), tpl.getB()));
+    }
+
+    //Writes and consumes the pending changes. Those of interest managed data go into the given map, once for each interest players have,
+    //unless no map is given, then all data is treated like global data.
+    private static Map<ResourceLocation, SyncPayload> collectDiffData(@Nullable Map<SyncInterest, Map<ResourceLocation, SyncPayload>> interestData) {
+        Map<ResourceLocation, SyncPayload> pktData = new HashMap<>();
         synchronized (lck) {
             for (ResourceLocation key : dirtyData) {
                 AbstractData dat = serverData.get(key);
-                if (dat != null) {
-                    CompoundNBT nbt = new CompoundNBT();
-                    dat.writeDiffDataToPacket(nbt);
-                    pktData.put(key, nbt);
+                if (dat == null) {
+                    continue;
+                }
+                if (interestData != null && dat instanceof InterestManagedData) {
+                    for (SyncInterest interest : new HashSet<>(playerInterests.values())) {
+                        SyncPayload payload = SyncPayload.writeDiff(dat, interest);
+                        if (payload != null) {
+                            interestData.computeIfAbsent(interest, i -> new HashMap<>()).put(key, payload);
+                        }
+                    }
+                    ((InterestManagedData) dat).clearDiff();
+                } else {
+                    pktData.put(key, SyncPayload.writeDiff(dat));
                 }
             }
             dirtyData.clear();
         }
-        PktSyncData dataSync = new PktSyncData(pktData);
-        PacketChannel.CHANNEL.sendToAll(dataSync);
+        return pktData;
     }
 
     @Override
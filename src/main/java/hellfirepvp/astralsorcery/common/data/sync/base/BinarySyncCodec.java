@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BinarySyncCodec
+ * Created by agent
+ * Date: 18.10.2026 / 05:53
+ */
+//Data synced with these methods instead of as NBT. Its ClientDataReader has to implement BinarySyncReader to read them.
+public interface BinarySyncCodec {
+
+    void writeAllDataToBuffer(PacketBuffer buf);
+
+    void writeDiffDataToBuffer(PacketBuffer buf);
+
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BinarySyncReader
+ * Created by agent
+ * Date: 18.10.2026 / 05:53
+ */
+//Implemented by the ClientDataReader of data that has a BinarySyncCodec.
+public interface BinarySyncReader<C extends ClientData<C>> {
+
+    void readFromIncomingFullSync(C data, PacketBuffer buf);
+
+    void readFromIncomingDiff(C data, PacketBuffer buf);
+
+    //Only sent for InterestBinarySyncCodec, which has to override this.
+    default void readFromIncomingSnapshot(C data, SyncInterest interest, PacketBuffer buf) {
+        readFromIncomingFullSync(data, buf);
+    }
+
+}
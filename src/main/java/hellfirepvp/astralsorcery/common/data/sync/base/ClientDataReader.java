@@ -23,4 +23,9 @@ public abstract class ClientDataReader<C extends ClientData<C>> {
 
     public abstract void readFromIncomingDiff(C data, CompoundNBT compound);
 
+    //Only sent for InterestManagedData, which has to override this.
+    public void readFromIncomingSnapshot(C data, SyncInterest interest, CompoundNBT compound) {
+        readFromIncomingFullSync(data, compound);
+    }
+
 }
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: InterestBinarySyncCodec
+ * Created by agent
+ * Date: 18.10.2026 / 05:53
+ */
+//The binary variants of what InterestManagedData writes, in the same formats as the BinarySyncCodec methods.
+public interface InterestBinarySyncCodec extends BinarySyncCodec, InterestManagedData {
+
+    //Returns false if nothing of the interest changed.
+    boolean writeDiffDataToBuffer(PacketBuffer buf, SyncInterest interest);
+
+    void writeSnapshotToBuffer(PacketBuffer buf, SyncInterest interest);
+
+}
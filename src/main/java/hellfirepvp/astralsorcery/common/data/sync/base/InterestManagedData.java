@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import net.minecraft.nbt.CompoundNBT;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: InterestManagedData
+ * Created by agent
+ * Date: 18.10.2026 / 05:32
+ */
+//Data split up by dimension and region, of which every player only receives what their SyncInterest covers.
+//Its ClientDataReader has to drop everything outside of the interest when reading a snapshot.
+public interface InterestManagedData {
+
+    //Writes the pending changes the interest covers in the same format as the full diff.
+    //Called once per distinct interest, the changes are only consumed by clearDiff afterwards.
+    //Returns false if nothing of the interest changed.
+    boolean writeDiffDataToPacket(CompoundNBT compound, SyncInterest interest);
+
+    void clearDiff();
+
+    //Writes everything the interest covers, sent when a player's interest changes.
+    void writeSnapshotToPacket(CompoundNBT compound, SyncInterest interest);
+
+}
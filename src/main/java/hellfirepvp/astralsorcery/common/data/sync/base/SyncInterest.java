@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SyncInterest
+ * Created by agent
+ * Date: 18.10.2026 / 05:32
+ */
+//The part of the server a player is interested in: their dimension and the regions around them within view distance.
+//Regions are squares of 4x4 chunks, keyed like ChunkPos.asLong with region coordinates.
+public class SyncInterest {
+
+    private static final int REGION_SHIFT = 6;
+
+    private final RegistryKey<World> dim;
+    private final int regionX, regionZ;
+    private final int radius;
+
+    //If set, only what's not already covered by this is part of the interest.
+    @Nullable
+    private final SyncInterest covered;
+
+    private SyncInterest(RegistryKey<World> dim, int regionX, int regionZ, int radius, @Nullable SyncInterest covered) {
+        this.dim = dim;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.radius = radius;
+        this.covered = covered;
+    }
+
+    public static SyncInterest around(PlayerEntity player, int viewDistance) {
+        BlockPos pos = player.getPosition();
+        //Data spanning several blocks, like light beams, belongs to a single region. The additional region keeps those reaching in from outside.
+        int chunksPerRegion = 1 << (REGION_SHIFT - 4);
+        int radius = (viewDistance + chunksPerRegion - 1) / chunksPerRegion + 1;
+        return new SyncInterest(player.getEntityWorld().getDimensionKey(), pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT, radius, null);
+    }
+
+    public static long getRegion(BlockPos pos) {
+        return ChunkPos.asLong(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT);
+    }
+
+    public RegistryKey<World> getDimension() {
+        return dim;
+    }
+
+    //The part of this interest the previous one didn't cover yet.
+    public SyncInterest without(@Nullable SyncInterest previous) {
+        if (previous == null) {
+            return this;
+        }
+        return new SyncInterest(this.dim, this.regionX, this.regionZ, this.radius, previous);
+    }
+
+    //False for the regions newly covered in a dimension that already was part of the interest.
+    public boolean coversDimension(RegistryKey<World> dim) {
+        return this.dim.equals(dim) && (this.covered == null || !this.covered.coversDimension(dim));
+    }
+
+    public boolean coversRegion(RegistryKey<World> dim, long region) {
+        if (!this.dim.equals(dim)) {
+            return false;
+        }
+        if (Math.abs(ChunkPos.getX(region) - this.regionX) > this.radius ||
+                Math.abs(ChunkPos.getZ(region) - this.regionZ) > this.radius) {
+            return false;
+        }
+        return this.covered == null || !this.covered.coversRegion(dim, region);
+    }
+
+    public boolean covers(RegistryKey<World> dim, BlockPos pos) {
+        return coversRegion(dim, getRegion(pos));
+    }
+
+    //Only the area itself is sent, clients always know everything they were sent before.
+    public void write(PacketBuffer buf) {
+        ByteBufUtils.writeVanillaRegistryEntry(buf, this.dim);
+        buf.writeInt(this.regionX);
+        buf.writeInt(this.regionZ);
+        buf.writeInt(this.radius);
+    }
+
+    public static SyncInterest read(PacketBuffer buf) {
+        RegistryKey<World> dim = ByteBufUtils.readVanillaRegistryEntry(buf);
+        return new SyncInterest(dim, buf.readInt(), buf.readInt(), buf.readInt(), null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SyncInterest that = (SyncInterest) o;
+        return regionX == that.regionX &&
+                regionZ == that.regionZ &&
+                radius == that.radius &&
+                dim.equals(that.dim) &&
+                Objects.equals(covered, that.covered);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dim, regionX, regionZ, radius, covered);
+    }
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.sync.base;
+
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
+
+import javax.annotation.Nullable;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SyncPayload
+ * Created by agent
+ * Date: 18.10.2026 / 05:35
+ */
+//The data of one AbstractData in a sync packet. Written with the data's BinarySyncCodec if it has one, otherwise as NBT.
+//Written once and then possibly sent to several players, so binary data is kept as plain bytes.
+public class SyncPayload {
+
+    @Nullable
+    private final CompoundNBT nbt;
+    @Nullable
+    private final byte[] bytes;
+
+    private SyncPayload(@Nullable CompoundNBT nbt, @Nullable byte[] bytes) {
+        this.nbt = nbt;
+        this.bytes = bytes;
+    }
+
+    public static SyncPayload writeAll(AbstractData data) {
+        if (data instanceof BinarySyncCodec) {
+            PacketBuffer buf = newBuffer();
+            ((BinarySyncCodec) data).writeAllDataToBuffer(buf);
+            return ofBuffer(buf);
+        }
+        CompoundNBT nbt = new CompoundNBT();
+        data.writeAllDataToPacket(nbt);
+        return new SyncPayload(nbt, null);
+    }
+
+    public static SyncPayload writeDiff(AbstractData data) {
+        if (data instanceof BinarySyncCodec) {
+            PacketBuffer buf = newBuffer();
+            ((BinarySyncCodec) data).writeDiffDataToBuffer(buf);
+            return ofBuffer(buf);
+        }
+        CompoundNBT nbt = new CompoundNBT();
+        data.writeDiffDataToPacket(nbt);
+        return new SyncPayload(nbt, null);
+    }
+
+    //Null if nothing of the interest changed.
+    @Nullable
+    public static SyncPayload writeDiff(AbstractData data, SyncInterest interest) {
+        if (data instanceof InterestBinarySyncCodec) {
+            PacketBuffer buf = newBuffer();
+            if (((InterestBinarySyncCodec) data).writeDiffDataToBuffer(buf, interest)) {
+                return ofBuffer(buf);
+            }
+            buf.release();
+            return null;
+        }
+        CompoundNBT nbt = new CompoundNBT();
+        return ((InterestManagedData) data).writeDiffDataToPacket(nbt, interest) ? new SyncPayload(nbt, null) : null;
+    }
+
+    public static SyncPayload writeSnapshot(AbstractData data, SyncInterest interest) {
+        if (data instanceof InterestBinarySyncCodec) {
+            PacketBuffer buf = newBuffer();
+            ((InterestBinarySyncCodec) data).writeSnapshotToBuffer(buf, interest);
+            return ofBuffer(buf);
+        }
+        CompoundNBT nbt = new CompoundNBT();
+        ((InterestManagedData) data).writeSnapshotToPacket(nbt, interest);
+        return new SyncPayload(nbt, null);
+    }
+
+    private static PacketBuffer newBuffer() {
+        return new PacketBuffer(Unpooled.buffer());
+    }
+
+    private static SyncPayload ofBuffer(PacketBuffer buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return new SyncPayload(null, bytes);
+    }
+
+    public <C extends ClientData<C>> void readFullSync(ClientDataReader<C> reader, C data) {
+        if (this.bytes != null) {
+            binaryReader(reader).readFromIncomingFullSync(data, new PacketBuffer(Unpooled.wrappedBuffer(this.bytes)));
+        } else {
+            reader.readFromIncomingFullSync(data, this.nbt);
+        }
+    }
+
+    public <C extends ClientData<C>> void readDiff(ClientDataReader<C> reader, C data) {
+        if (this.bytes != null) {
+            binaryReader(reader).readFromIncomingDiff(data, new PacketBuffer(Unpooled.wrappedBuffer(this.bytes)));
+        } else {
+            reader.readFromIncomingDiff(data, this.nbt);
+        }
+    }
+
+    public <C extends ClientData<C>> void readSnapshot(ClientDataReader<C> reader, C data, SyncInterest interest) {
+        if (this.bytes != null) {
+            binaryReader(reader).readFromIncomingSnapshot(data, interest, new PacketBuffer(Unpooled.wrappedBuffer(this.bytes)));
+        } else {
+            reader.readFromIncomingSnapshot(data, interest, this.nbt);
+        }
+    }
+
+    //Binary data is only sent for a BinarySyncCodec, whose ClientDataReader has to read it.
+    @SuppressWarnings("unchecked")
+    private static <C extends ClientData<C>> BinarySyncReader<C> binaryReader(ClientDataReader<C> reader) {
+        if (!(reader instanceof BinarySyncReader)) {
+            throw new IllegalStateException("Received binary sync data for " + reader.getClass().getName() + ", which can't read it!");
+        }
+        return (BinarySyncReader<C>) reader;
+    }
+
+    public void write(PacketBuffer buf) {
+        buf.writeBoolean(this.bytes != null);
+        if (this.bytes != null) {
+            buf.writeByteArray(this.bytes);
+        } else {
+            ByteBufUtils.writeNBTTag(buf, this.nbt);
+        }
+    }
+
+    public static SyncPayload read(PacketBuffer buf) {
+        if (buf.readBoolean()) {
+            return new SyncPayload(null, buf.readByteArray());
+        }
+        return new SyncPayload(ByteBufUtils.readNBTTag(buf), null);
+    }
+}
@@ -8,11 +8,15 @@
 
 package hellfirepvp.astralsorcery.common.data.sync.client;
 
+import hellfirepvp.astralsorcery.common.data.sync.base.BinarySyncReader;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.ListNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -47,7 +51,7 @@ public class ClientLightBlockEndpoints extends ClientData<ClientLightBlockEndpoi
         this.clientPositions.clear();
     }
 
-    public static class Reader extends ClientDataReader<ClientLightBlockEndpoints> {
+    public static class Reader extends ClientDataReader<ClientLightBlockEndpoints> implements BinarySyncReader<ClientLightBlockEndpoints> {
 
         @Override
         public void readFromIncomingFullSync(ClientLightBlockEndpoints data, CompoundNBT compound) {
@@ -68,6 +72,23 @@ public class ClientLightBlockEndpoints extends ClientData<ClientLightBlockEndpoi
             }
         }
 
+        @Override
+        public void readFromIncomingSnapshot(ClientLightBlockEndpoints data, SyncInterest interest, CompoundNBT compound) {
+            retainInterest(data, interest);
+
+            for (String dimKey : compound.keySet()) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, new ResourceLocation(dimKey));
+
+                Set<BlockPos> positions = data.clientPositions.computeIfAbsent(dim, k -> new HashSet<>());
+                ListNBT list = compound.getList(dimKey, Constants.NBT.TAG_COMPOUND);
+                for (INBT iTag : list) {
+                    CompoundNBT tag = (CompoundNBT) iTag;
+
+                    positions.add(BlockPos.fromLong(tag.getLong("pos")));
+                }
+            }
+        }
+
         @Override
         public void readFromIncomingDiff(ClientLightBlockEndpoints data, CompoundNBT compound) {
             Set<String> clearedDimensions = new HashSet<>();
@@ -102,5 +123,68 @@ public class ClientLightBlockEndpoints extends ClientData<ClientLightBlockEndpoi
                 }
             }
         }
+
+        @Override
+        public void readFromIncomingFullSync(ClientLightBlockEndpoints data, PacketBuffer buf) {
+            data.clientPositions.clear();
+            readPositions(data, buf);
+        }
+
+        @Override
+        public void readFromIncomingSnapshot(ClientLightBlockEndpoints data, SyncInterest interest, PacketBuffer buf) {
+            retainInterest(data, interest);
+            readPositions(data, buf);
+        }
+
+        private void readPositions(ClientLightBlockEndpoints data, PacketBuffer buf) {
+            int dimensions = buf.readVarInt();
+            for (int i = 0; i < dimensions; i++) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf));
+                Set<BlockPos> positions = data.clientPositions.computeIfAbsent(dim, k -> new HashSet<>());
+
+                int count = buf.readVarInt();
+                BlockPos prev = BlockPos.ZERO;
+                for (int j = 0; j < count; j++) {
+                    BlockPos pos = ByteBufUtils.readPosDelta(buf, prev);
+                    positions.add(pos);
+                    prev = pos;
+                }
+            }
+        }
+
+        @Override
+        public void readFromIncomingDiff(ClientLightBlockEndpoints data, PacketBuffer buf) {
+            int clears = buf.readVarInt();
+            for (int i = 0; i < clears; i++) {
+                data.clientPositions.remove(RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf)));
+            }
+
+            int dimensions = buf.readVarInt();
+            for (int i = 0; i < dimensions; i++) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf));
+                Set<BlockPos> positions = data.clientPositions.computeIfAbsent(dim, k -> new HashSet<>());
+
+                int changes = buf.readVarInt();
+                BlockPos prev = BlockPos.ZERO;
+                for (int j = 0; j < changes; j++) {
+                    BlockPos pos = ByteBufUtils.readPosDelta(buf, prev);
+                    if (buf.readBoolean()) {
+                        positions.add(pos);
+                    } else {
+                        positions.remove(pos);
+                    }
+                    prev = pos;
+                }
+            }
+        }
+
+        private void retainInterest(ClientLightBlockEndpoints data, SyncInterest interest) {
+            RegistryKey<World> interestDim = interest.getDimension();
+            data.clientPositions.keySet().removeIf(dim -> !dim.equals(interestDim));
+            Set<BlockPos> interestPositions = data.clientPositions.get(interestDim);
+            if (interestPositions != null) {
+                interestPositions.removeIf(pos -> !interest.covers(interestDim, pos));
+            }
+        }
     }
 }
@@ -8,11 +8,15 @@
 
 package hellfirepvp.astralsorcery.common.data.sync.client;
 
+import hellfirepvp.astralsorcery.common.data.sync.base.BinarySyncReader;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.ListNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -52,7 +56,7 @@ public class ClientLightConnections extends ClientData<ClientLightConnections> {
         this.clientPosBuffer.clear();
     }
 
-    public static class Reader extends ClientDataReader<ClientLightConnections> {
+    public static class Reader extends ClientDataReader<ClientLightConnections> implements BinarySyncReader<ClientLightConnections> {
 
         @Override
         public void readFromIncomingFullSync(ClientLightConnections cl, CompoundNBT compound) {
@@ -76,6 +80,26 @@ public class ClientLightConnections extends ClientData<ClientLightConnections> {
             }
         }
 
+        @Override
+        public void readFromIncomingSnapshot(ClientLightConnections cl, SyncInterest interest, CompoundNBT compound) {
+            retainInterest(cl, interest);
+
+            for (String dimKey : compound.keySet()) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, new ResourceLocation(dimKey));
+
+                Map<BlockPos, Set<BlockPos>> posMap = cl.clientPosBuffer.computeIfAbsent(dim, d -> new HashMap<>());
+                ListNBT list = compound.getList(dimKey, Constants.NBT.TAG_COMPOUND);
+                for (INBT iTag : list) {
+                    CompoundNBT tag = (CompoundNBT) iTag;
+
+                    BlockPos start = BlockPos.fromLong(tag.getLong("start"));
+                    BlockPos end   = BlockPos.fromLong(tag.getLong("end"));
+                    posMap.computeIfAbsent(start, s -> new HashSet<>())
+                            .add(end);
+                }
+            }
+        }
+
         @Override
         public void readFromIncomingDiff(ClientLightConnections cl, CompoundNBT compound) {
             Set<String> clearedDimensions = new HashSet<>();
@@ -101,20 +125,86 @@ public class ClientLightConnections extends ClientData<ClientLightConnections> {
 
                     BlockPos start = BlockPos.fromLong(tag.getLong("start"));
                     BlockPos end = BlockPos.fromLong(tag.getLong("end"));
-                    boolean newConnection = tag.getBoolean("connect");
-
-                    if (newConnection) {
-                        posMap.computeIfAbsent(start, s -> new HashSet<>())
-                                .add(end);
-                    } else {
-                        Set<BlockPos> endPoints = posMap.get(start);
-                        if (endPoints != null &&
-                                endPoints.remove(end) &&
-                                endPoints.isEmpty()) {
-
-                            posMap.remove(start);
-                        }
+                    applyChange(posMap, start, end, tag.getBoolean("connect"));
+                }
+            }
+        }
+
+        @Override
+        public void readFromIncomingFullSync(ClientLightConnections cl, PacketBuffer buf) {
+            cl.clientPosBuffer.clear();
+            readConnections(cl, buf);
+        }
+
+        @Override
+        public void readFromIncomingSnapshot(ClientLightConnections cl, SyncInterest interest, PacketBuffer buf) {
+            retainInterest(cl, interest);
+            readConnections(cl, buf);
+        }
+
+        private void readConnections(ClientLightConnections cl, PacketBuffer buf) {
+            int dimensions = buf.readVarInt();
+            for (int i = 0; i < dimensions; i++) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf));
+                Map<BlockPos, Set<BlockPos>> posMap = cl.clientPosBuffer.computeIfAbsent(dim, d -> new HashMap<>());
+
+                int starts = buf.readVarInt();
+                BlockPos prevStart = BlockPos.ZERO;
+                for (int j = 0; j < starts; j++) {
+                    BlockPos start = ByteBufUtils.readPosDelta(buf, prevStart);
+                    Set<BlockPos> endPositions = posMap.computeIfAbsent(start, s -> new HashSet<>());
+                    int ends = buf.readVarInt();
+                    for (int k = 0; k < ends; k++) {
+                        endPositions.add(ByteBufUtils.readPosDelta(buf, start));
                     }
+                    prevStart = start;
+                }
+            }
+        }
+
+        @Override
+        public void readFromIncomingDiff(ClientLightConnections cl, PacketBuffer buf) {
+            int clears = buf.readVarInt();
+            for (int i = 0; i < clears; i++) {
+                cl.clientPosBuffer.remove(RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf)));
+            }
+
+            int dimensions = buf.readVarInt();
+            for (int i = 0; i < dimensions; i++) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, ByteBufUtils.readResourceLocation(buf));
+                Map<BlockPos, Set<BlockPos>> posMap = cl.clientPosBuffer.computeIfAbsent(dim, d -> new HashMap<>());
+
+                int changes = buf.readVarInt();
+                BlockPos prevStart = BlockPos.ZERO;
+                for (int j = 0; j < changes; j++) {
+                    BlockPos start = ByteBufUtils.readPosDelta(buf, prevStart);
+                    BlockPos end = ByteBufUtils.readPosDelta(buf, start);
+                    applyChange(posMap, start, end, buf.readBoolean());
+                    prevStart = start;
+                }
+            }
+        }
+
+        private void retainInterest(ClientLightConnections cl, SyncInterest interest) {
+            RegistryKey<World> interestDim = interest.getDimension();
+            cl.clientPosBuffer.keySet().removeIf(dim -> !dim.equals(interestDim));
+            Map<BlockPos, Set<BlockPos>> interestMap = cl.clientPosBuffer.get(interestDim);
+            if (interestMap != null) {
+                interestMap.keySet().removeIf(start -> !interest.covers(interestDim, start));
+            }
+        }
+
+        private void applyChange(Map<BlockPos, Set<BlockPos>> posMap, BlockPos start, BlockPos end, boolean newConnection) {
+            if (newConnection) {
+                posMap.computeIfAbsent(start, s -> new HashSet<>())
+                        .add(end);
+            } else {
+                Set<BlockPos> endPoints = posMap.get(start);
+                if (endPoints != null &&
+                        endPoints.remove(end) &&
+                        endPoints.isEmpty()) {
+
+                    posMap.remove(start);
                 }
             }
         }
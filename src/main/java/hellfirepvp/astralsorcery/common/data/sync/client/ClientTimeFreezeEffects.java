@@ -10,6 +10,7 @@ package hellfirepvp.astralsorcery.common.data.sync.client;
 
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import hellfirepvp.astralsorcery.common.data.sync.server.DataTimeFreezeEffects;
 import hellfirepvp.astralsorcery.common.util.time.TimeStopEffectHelper;
 import net.minecraft.nbt.CompoundNBT;
@@ -94,6 +95,23 @@ public class ClientTimeFreezeEffects extends ClientData<ClientTimeFreezeEffects>
             }
         }
 
+        @Override
+        public void readFromIncomingSnapshot(ClientTimeFreezeEffects data, SyncInterest interest, CompoundNBT compound) {
+            data.clientActiveFreezeZones.keySet().removeIf(dim -> !dim.equals(interest.getDimension()));
+
+            CompoundNBT dimTag = compound.getCompound("dimTypes");
+            for (String dimKey : dimTag.keySet()) {
+                RegistryKey<World> dim = RegistryKey.getOrCreateKey(Registry.WORLD_KEY, new ResourceLocation(dimKey));
+
+                List<TimeStopEffectHelper> effects = new LinkedList<>();
+                ListNBT listEffects = dimTag.getList(dimKey, Constants.NBT.TAG_COMPOUND);
+                for (INBT iNBT : listEffects) {
+                    effects.add(TimeStopEffectHelper.deserializeNBT((CompoundNBT) iNBT));
+                }
+                data.clientActiveFreezeZones.put(dim, effects);
+            }
+        }
+
         @Override
         public void readFromIncomingDiff(ClientTimeFreezeEffects data, CompoundNBT compound) {
             ListNBT changes = compound.getList("changes", Constants.NBT.TAG_COMPOUND);
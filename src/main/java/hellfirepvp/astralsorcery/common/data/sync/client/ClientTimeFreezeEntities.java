@@ -10,6 +10,7 @@ package hellfirepvp.astralsorcery.common.data.sync.client;
 
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
@@ -53,6 +54,12 @@ public class ClientTimeFreezeEntities extends ClientData<ClientTimeFreezeEntitie
             this.readEntityInformation(data, compound);
         }
 
+        @Override
+        public void readFromIncomingSnapshot(ClientTimeFreezeEntities data, SyncInterest interest, CompoundNBT compound) {
+            data.clientActiveEntityFreeze.keySet().removeIf(dim -> !dim.equals(interest.getDimension()));
+            this.readEntityInformation(data, compound);
+        }
+
         @Override
         public void readFromIncomingDiff(ClientTimeFreezeEntities data, CompoundNBT compound) {
             this.readEntityInformation(data, compound);
@@ -11,16 +11,24 @@ package hellfirepvp.astralsorcery.common.data.sync.server;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractDataProvider;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestBinarySyncCodec;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import hellfirepvp.astralsorcery.common.data.sync.client.ClientLightBlockEndpoints;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.nbt.StringNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -30,11 +38,11 @@ import java.util.*;
  * Created by HellFirePvP
  * Date: 10.08.2016 / 18:30
  */
-public class DataLightBlockEndpoints extends AbstractData {
+public class DataLightBlockEndpoints extends AbstractData implements InterestBinarySyncCodec {
 
-    private final Map<RegistryKey<World>, Set<BlockPos>> serverPositions = new HashMap<>();
+    private final Map<RegistryKey<World>, Long2ObjectMap<Set<BlockPos>>> serverPositions = new HashMap<>();
 
-    private final Map<RegistryKey<World>, Map<BlockPos, Boolean>> serverChangeBuffer = new HashMap<>();
+    private final Map<RegistryKey<World>, Long2ObjectMap<Map<BlockPos, Boolean>>> serverChangeBuffer = new HashMap<>();
     private final Set<RegistryKey<World>> dimensionClearBuffer = new HashSet<>();
 
     private DataLightBlockEndpoints(ResourceLocation key) {
@@ -42,39 +50,48 @@ public class DataLightBlockEndpoints extends AbstractData {
     }
 
     public void updateNewEndpoint(RegistryKey<World> dim, BlockPos pos) {
-        Map<BlockPos, Boolean> posMap = serverChangeBuffer.computeIfAbsent(dim, k -> new HashMap<>());
-        posMap.put(pos, true);
-
-        Set<BlockPos> posBuffer = serverPositions.computeIfAbsent(dim, k -> new HashSet<>());
-        posBuffer.add(pos);
-        markDirty();
+        updateNewEndpoints(dim, Collections.singletonList(pos));
     }
 
     public void updateNewEndpoints(RegistryKey<World> dim, Collection<BlockPos> newPositions) {
-        Map<BlockPos, Boolean> posMap = serverChangeBuffer.computeIfAbsent(dim, k -> new HashMap<>());
+        Long2ObjectMap<Map<BlockPos, Boolean>> posMap = serverChangeBuffer.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
+        Long2ObjectMap<Set<BlockPos>> posBuffer = serverPositions.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
         for (BlockPos pos : newPositions) {
-            posMap.put(pos, true);
+            long region = SyncInterest.getRegion(pos);
+            posMap.computeIfAbsent(region, k -> new HashMap<>()).put(pos, true);
+            posBuffer.computeIfAbsent(region, k -> new HashSet<>()).add(pos);
         }
-
-        Set<BlockPos> posBuffer = serverPositions.computeIfAbsent(dim, k -> new HashSet<>());
-        posBuffer.addAll(newPositions);
         markDirty();
     }
 
     public void removeEndpoints(RegistryKey<World> dim, Collection<BlockPos> positions) {
-        Map<BlockPos, Boolean> posMap = serverChangeBuffer.computeIfAbsent(dim, k -> new HashMap<>());
+        Long2ObjectMap<Map<BlockPos, Boolean>> posMap = serverChangeBuffer.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
+        Long2ObjectMap<Set<BlockPos>> posBuffer = serverPositions.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
+        boolean removed = false;
         for (BlockPos pos : positions) {
-            posMap.put(pos, false);
-        }
+            long region = SyncInterest.getRegion(pos);
+            posMap.computeIfAbsent(region, k -> new HashMap<>()).put(pos, false);
 
-        Set<BlockPos> posBuffer = serverPositions.computeIfAbsent(dim, k -> new HashSet<>());
-        if (posBuffer.removeAll(positions)) {
+            Set<BlockPos> regionPositions = posBuffer.get(region);
+            if (regionPositions != null && regionPositions.remove(pos)) {
+                removed = true;
+                if (regionPositions.isEmpty()) {
+                    posBuffer.remove(region);
+                }
+            }
+        }
+        if (removed) {
             markDirty();
         }
     }
 
     public boolean doesPositionReceiveStarlightServer(World world, BlockPos pos) {
-        return this.serverPositions.getOrDefault(world.getDimensionKey(), Collections.emptySet()).contains(pos);
+        Long2ObjectMap<Set<BlockPos>> posBuffer = this.serverPositions.get(world.getDimensionKey());
+        if (posBuffer == null) {
+            return false;
+        }
+        Set<BlockPos> regionPositions = posBuffer.get(SyncInterest.getRegion(pos));
+        return regionPositions != null && regionPositions.contains(pos);
     }
 
     @Override
@@ -96,34 +113,103 @@ public class DataLightBlockEndpoints extends AbstractData {
     @Override
     public void writeAllDataToPacket(CompoundNBT compound) {
         for (RegistryKey<World> dim : serverPositions.keySet()) {
-            Set<BlockPos> dat = serverPositions.get(dim);
+            compound.put(dim.getLocation().toString(), writePositions(collectPositions(dim, null)));
+        }
+    }
 
-            ListNBT dataList = new ListNBT();
-            for (BlockPos pos : dat) {
-                CompoundNBT cmp = new CompoundNBT();
-                cmp.putLong("pos", pos.toLong());
-                dataList.add(cmp);
+    @Override
+    public void writeAllDataToBuffer(PacketBuffer buf) {
+        buf.writeVarInt(serverPositions.size());
+        for (RegistryKey<World> dim : serverPositions.keySet()) {
+            writePositions(buf, dim, collectPositions(dim, null));
+        }
+    }
+
+    @Override
+    public void writeSnapshotToPacket(CompoundNBT compound, SyncInterest interest) {
+        RegistryKey<World> dim = interest.getDimension();
+        if (serverPositions.containsKey(dim)) {
+            compound.put(dim.getLocation().toString(), writePositions(collectPositions(dim, interest)));
+        }
+    }
+
+    @Override
+    public void writeSnapshotToBuffer(PacketBuffer buf, SyncInterest interest) {
+        RegistryKey<World> dim = interest.getDimension();
+        if (serverPositions.containsKey(dim)) {
+            buf.writeVarInt(1);
+            writePositions(buf, dim, collectPositions(dim, interest));
+        } else {
+            buf.writeVarInt(0);
+        }
+    }
+
+    //The positions of the regions the interest covers, or of the whole dimension without an interest.
+    private List<BlockPos> collectPositions(RegistryKey<World> dim, @Nullable SyncInterest interest) {
+        List<BlockPos> positions = new ArrayList<>();
+        for (Long2ObjectMap.Entry<Set<BlockPos>> entry : Long2ObjectMaps.fastIterable(serverPositions.get(dim))) {
+            if (interest == null || interest.coversRegion(dim, entry.getLongKey())) {
+                positions.addAll(entry.getValue());
             }
+        }
+        return positions;
+    }
 
-            compound.put(dim.getLocation().toString(), dataList);
+    private ListNBT writePositions(List<BlockPos> positions) {
+        ListNBT dataList = new ListNBT();
+        for (BlockPos pos : positions) {
+            CompoundNBT cmp = new CompoundNBT();
+            cmp.putLong("pos", pos.toLong());
+            dataList.add(cmp);
+        }
+        return dataList;
+    }
+
+    //Each position relative to the previous one, which are close to each other within a region.
+    private void writePositions(PacketBuffer buf, RegistryKey<World> dim, List<BlockPos> positions) {
+        ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+        buf.writeVarInt(positions.size());
+
+        BlockPos prev = BlockPos.ZERO;
+        for (BlockPos pos : positions) {
+            ByteBufUtils.writePosDelta(buf, prev, pos);
+            prev = pos;
         }
     }
 
     @Override
     public void writeDiffDataToPacket(CompoundNBT compound) {
+        writeDiff(compound, null);
+        clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToPacket(CompoundNBT compound, SyncInterest interest) {
+        return writeDiff(compound, interest);
+    }
+
+    @Override
+    public void writeDiffDataToBuffer(PacketBuffer buf) {
+        writeDiff(buf, null);
+        clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToBuffer(PacketBuffer buf, SyncInterest interest) {
+        return writeDiff(buf, interest);
+    }
+
+    private boolean writeDiff(CompoundNBT compound, @Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = collectClears(interest);
+        Map<RegistryKey<World>, Map<BlockPos, Boolean>> changes = collectChanges(interest);
+
         ListNBT clearList = new ListNBT();
-        for (RegistryKey<World> dim : this.dimensionClearBuffer) {
+        for (RegistryKey<World> dim : clears) {
             clearList.add(StringNBT.valueOf(dim.getLocation().toString()));
         }
         compound.put("clear", clearList);
 
-        for (RegistryKey<World> dim : this.serverChangeBuffer.keySet()) {
-            if (this.dimensionClearBuffer.contains(dim)) {
-                continue;
-            }
-
-            Map<BlockPos, Boolean> data = this.serverChangeBuffer.get(dim);
-
+        changes.forEach((dim, data) -> {
             ListNBT dataList = new ListNBT();
             for (BlockPos pos : data.keySet()) {
                 CompoundNBT cmp = new CompoundNBT();
@@ -131,10 +217,68 @@ public class DataLightBlockEndpoints extends AbstractData {
                 cmp.putBoolean("add", data.get(pos));
                 dataList.add(cmp);
             }
-
             compound.put(dim.getLocation().toString(), dataList);
+        });
+        return !clears.isEmpty() || !changes.isEmpty();
+    }
+
+    private boolean writeDiff(PacketBuffer buf, @Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = collectClears(interest);
+        Map<RegistryKey<World>, Map<BlockPos, Boolean>> changes = collectChanges(interest);
+
+        buf.writeVarInt(clears.size());
+        for (RegistryKey<World> dim : clears) {
+            ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+        }
+
+        buf.writeVarInt(changes.size());
+        changes.forEach((dim, data) -> {
+            ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+            buf.writeVarInt(data.size());
+
+            BlockPos prev = BlockPos.ZERO;
+            for (BlockPos pos : data.keySet()) {
+                ByteBufUtils.writePosDelta(buf, prev, pos);
+                buf.writeBoolean(data.get(pos));
+                prev = pos;
+            }
+        });
+        return !clears.isEmpty() || !changes.isEmpty();
+    }
+
+    private List<RegistryKey<World>> collectClears(@Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = new ArrayList<>();
+        for (RegistryKey<World> dim : this.dimensionClearBuffer) {
+            if (interest == null || interest.coversDimension(dim)) {
+                clears.add(dim);
+            }
         }
+        return clears;
+    }
 
+    //The pending changes of the regions the interest covers. Dimensions that are cleared anyway are left out.
+    private Map<RegistryKey<World>, Map<BlockPos, Boolean>> collectChanges(@Nullable SyncInterest interest) {
+        Map<RegistryKey<World>, Map<BlockPos, Boolean>> changes = new HashMap<>();
+        for (RegistryKey<World> dim : this.serverChangeBuffer.keySet()) {
+            if (this.dimensionClearBuffer.contains(dim) || (interest != null && !interest.coversDimension(dim))) {
+                continue;
+            }
+
+            Map<BlockPos, Boolean> dimChanges = new HashMap<>();
+            for (Long2ObjectMap.Entry<Map<BlockPos, Boolean>> entry : Long2ObjectMaps.fastIterable(this.serverChangeBuffer.get(dim))) {
+                if (interest == null || interest.coversRegion(dim, entry.getLongKey())) {
+                    dimChanges.putAll(entry.getValue());
+                }
+            }
+            if (!dimChanges.isEmpty()) {
+                changes.put(dim, dimChanges);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public void clearDiff() {
         this.dimensionClearBuffer.clear();
         this.serverChangeBuffer.clear();
     }
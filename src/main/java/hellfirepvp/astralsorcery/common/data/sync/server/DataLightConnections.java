@@ -11,17 +11,25 @@ package hellfirepvp.astralsorcery.common.data.sync.server;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractDataProvider;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestBinarySyncCodec;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import hellfirepvp.astralsorcery.common.data.sync.client.ClientLightConnections;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionChain;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.nbt.StringNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -31,12 +39,13 @@ import java.util.*;
  * Created by HellFirePvP
  * Date: 05.08.2016 / 20:14
  */
-public class DataLightConnections extends AbstractData {
+public class DataLightConnections extends AbstractData implements InterestBinarySyncCodec {
 
-    private final Map<RegistryKey<World>, Map<BlockPos, Set<BlockPos>>> serverPosBuffer = new HashMap<>();
+    //Connections are kept in the region of their start position.
+    private final Map<RegistryKey<World>, Long2ObjectMap<Map<BlockPos, Set<BlockPos>>>> serverPosBuffer = new HashMap<>();
 
     //Boolean flag: true=addition, false=removal
-    private final Map<RegistryKey<World>, LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>> serverChangeBuffer = new HashMap<>();
+    private final Map<RegistryKey<World>, Long2ObjectMap<LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>>> serverChangeBuffer = new HashMap<>();
     private final Set<RegistryKey<World>> dimensionClearBuffer = new HashSet<>();
 
     private DataLightConnections(ResourceLocation key) {
@@ -44,10 +53,11 @@ public class DataLightConnections extends AbstractData {
     }
 
     public void updateNewConnectionsThreaded(RegistryKey<World> dim, List<TransmissionChain.LightConnection> newlyAddedConnections) {
-        Map<BlockPos, Set<BlockPos>> posBufferDim = serverPosBuffer.computeIfAbsent(dim, k -> new HashMap<>());
+        Long2ObjectMap<Map<BlockPos, Set<BlockPos>>> posBufferDim = serverPosBuffer.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
         for (TransmissionChain.LightConnection c : newlyAddedConnections) {
             BlockPos start = c.getStart();
-            Set<BlockPos> endpoints = posBufferDim.computeIfAbsent(start, k -> new HashSet<>());
+            Map<BlockPos, Set<BlockPos>> posBufferRegion = posBufferDim.computeIfAbsent(SyncInterest.getRegion(start), k -> new HashMap<>());
+            Set<BlockPos> endpoints = posBufferRegion.computeIfAbsent(start, k -> new HashSet<>());
             endpoints.add(c.getEnd());
         }
         notifyConnectionAdd(dim, newlyAddedConnections);
@@ -57,17 +67,25 @@ public class DataLightConnections extends AbstractData {
     }
 
     public void removeOldConnectionsThreaded(RegistryKey<World> dim, List<TransmissionChain.LightConnection> invalidConnections) {
-        Map<BlockPos, Set<BlockPos>> posBufferDim = serverPosBuffer.get(dim);
+        Long2ObjectMap<Map<BlockPos, Set<BlockPos>>> posBufferDim = serverPosBuffer.get(dim);
         if (posBufferDim != null) {
             for (TransmissionChain.LightConnection c : invalidConnections) {
                 BlockPos start = c.getStart();
-                Set<BlockPos> ends = posBufferDim.get(start);
+                long region = SyncInterest.getRegion(start);
+                Map<BlockPos, Set<BlockPos>> posBufferRegion = posBufferDim.get(region);
+                if (posBufferRegion == null) {
+                    continue;
+                }
+                Set<BlockPos> ends = posBufferRegion.get(start);
                 if (ends == null) {
                     continue;
                 }
                 ends.remove(c.getEnd());
                 if (ends.isEmpty()) {
-                    posBufferDim.remove(start);
+                    posBufferRegion.remove(start);
+                    if (posBufferRegion.isEmpty()) {
+                        posBufferDim.remove(region);
+                    }
                 }
             }
         }
@@ -93,70 +111,204 @@ public class DataLightConnections extends AbstractData {
     }
 
     private void notifyConnectionAdd(RegistryKey<World> dim, List<TransmissionChain.LightConnection> added) {
-        LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> ch = serverChangeBuffer.computeIfAbsent(dim, k -> new LinkedList<>());
+        Long2ObjectMap<LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>> ch = serverChangeBuffer.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
         for (TransmissionChain.LightConnection l : added) {
-            ch.add(new Tuple<>(l, true));
+            ch.computeIfAbsent(SyncInterest.getRegion(l.getStart()), k -> new LinkedList<>()).add(new Tuple<>(l, true));
         }
         this.dimensionClearBuffer.remove(dim);
     }
 
     private void notifyConnectionRemoval(RegistryKey<World> dim, List<TransmissionChain.LightConnection> removal) {
-        LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> ch = serverChangeBuffer.computeIfAbsent(dim, k -> new LinkedList<>());
+        Long2ObjectMap<LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>> ch = serverChangeBuffer.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
         for (TransmissionChain.LightConnection l : removal) {
-            ch.add(new Tuple<>(l, false));
+            ch.computeIfAbsent(SyncInterest.getRegion(l.getStart()), k -> new LinkedList<>()).add(new Tuple<>(l, false));
         }
     }
 
     @Override
     public void writeAllDataToPacket(CompoundNBT compound) {
         for (RegistryKey<World> dim : serverPosBuffer.keySet()) {
-            Map<BlockPos, Set<BlockPos>> dat = serverPosBuffer.get(dim);
-            ListNBT dataList = new ListNBT();
-            for (BlockPos start : dat.keySet()) {
-                Set<BlockPos> endPositions = dat.get(start);
-                if (endPositions == null) {
-                    continue;
-                }
+            compound.put(dim.getLocation().toString(), writeConnections(collectConnections(dim, null)));
+        }
+    }
 
-                for (BlockPos end : endPositions) {
+    @Override
+    public void writeAllDataToBuffer(PacketBuffer buf) {
+        buf.writeVarInt(serverPosBuffer.size());
+        for (RegistryKey<World> dim : serverPosBuffer.keySet()) {
+            writeConnections(buf, dim, collectConnections(dim, null));
+        }
+    }
+
+    @Override
+    public void writeSnapshotToPacket(CompoundNBT compound, SyncInterest interest) {
+        RegistryKey<World> dim = interest.getDimension();
+        if (serverPosBuffer.containsKey(dim)) {
+            compound.put(dim.getLocation().toString(), writeConnections(collectConnections(dim, interest)));
+        }
+    }
+
+    @Override
+    public void writeSnapshotToBuffer(PacketBuffer buf, SyncInterest interest) {
+        RegistryKey<World> dim = interest.getDimension();
+        if (serverPosBuffer.containsKey(dim)) {
+            buf.writeVarInt(1);
+            writeConnections(buf, dim, collectConnections(dim, interest));
+        } else {
+            buf.writeVarInt(0);
+        }
+    }
+
+    //The connections of the regions the interest covers, or of the whole dimension without an interest.
+    private List<Map<BlockPos, Set<BlockPos>>> collectConnections(RegistryKey<World> dim, @Nullable SyncInterest interest) {
+        List<Map<BlockPos, Set<BlockPos>>> connections = new ArrayList<>();
+        for (Long2ObjectMap.Entry<Map<BlockPos, Set<BlockPos>>> entry : Long2ObjectMaps.fastIterable(serverPosBuffer.get(dim))) {
+            if (interest == null || interest.coversRegion(dim, entry.getLongKey())) {
+                connections.add(entry.getValue());
+            }
+        }
+        return connections;
+    }
+
+    private ListNBT writeConnections(List<Map<BlockPos, Set<BlockPos>>> connections) {
+        ListNBT dataList = new ListNBT();
+        for (Map<BlockPos, Set<BlockPos>> dat : connections) {
+            for (BlockPos start : dat.keySet()) {
+                for (BlockPos end : dat.get(start)) {
                     CompoundNBT cmp = new CompoundNBT();
                     cmp.putLong("start", start.toLong());
                     cmp.putLong("end",   end.toLong());
                     dataList.add(cmp);
                 }
             }
+        }
+        return dataList;
+    }
 
-            compound.put(dim.getLocation().toString(), dataList);
+    //Each start relative to the previous one, which are close to each other within a region, and its ends relative to it.
+    private void writeConnections(PacketBuffer buf, RegistryKey<World> dim, List<Map<BlockPos, Set<BlockPos>>> connections) {
+        ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+        buf.writeVarInt(connections.stream().mapToInt(Map::size).sum());
+
+        BlockPos prevStart = BlockPos.ZERO;
+        for (Map<BlockPos, Set<BlockPos>> dat : connections) {
+            for (BlockPos start : dat.keySet()) {
+                Set<BlockPos> endPositions = dat.get(start);
+                ByteBufUtils.writePosDelta(buf, prevStart, start);
+                buf.writeVarInt(endPositions.size());
+                for (BlockPos end : endPositions) {
+                    ByteBufUtils.writePosDelta(buf, start, end);
+                }
+                prevStart = start;
+            }
         }
     }
 
     @Override
     public void writeDiffDataToPacket(CompoundNBT compound) {
+        writeDiff(compound, null);
+        clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToPacket(CompoundNBT compound, SyncInterest interest) {
+        return writeDiff(compound, interest);
+    }
+
+    @Override
+    public void writeDiffDataToBuffer(PacketBuffer buf) {
+        writeDiff(buf, null);
+        clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToBuffer(PacketBuffer buf, SyncInterest interest) {
+        return writeDiff(buf, interest);
+    }
+
+    private boolean writeDiff(CompoundNBT compound, @Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = collectClears(interest);
+        Map<RegistryKey<World>, List<Tuple<TransmissionChain.LightConnection, Boolean>>> changes = collectChanges(interest);
+
         ListNBT clearList = new ListNBT();
-        for (RegistryKey<World> dim : this.dimensionClearBuffer) {
+        for (RegistryKey<World> dim : clears) {
             clearList.add(StringNBT.valueOf(dim.getLocation().toString()));
         }
         compound.put("clear", clearList);
 
+        changes.forEach((dim, dimChanges) -> {
+            ListNBT list = new ListNBT();
+            for (Tuple<TransmissionChain.LightConnection, Boolean> tuple : dimChanges) {
+                CompoundNBT connection = new CompoundNBT();
+                connection.putLong("start", tuple.getA().getStart().toLong());
+                connection.putLong("end",   tuple.getA().getEnd().toLong());
+                connection.putBoolean("connect", tuple.getB());
+                list.add(connection);
+            }
+            compound.put(dim.getLocation().toString(), list);
+        });
+        return !clears.isEmpty() || !changes.isEmpty();
+    }
+
+    private boolean writeDiff(PacketBuffer buf, @Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = collectClears(interest);
+        Map<RegistryKey<World>, List<Tuple<TransmissionChain.LightConnection, Boolean>>> changes = collectChanges(interest);
+
+        buf.writeVarInt(clears.size());
+        for (RegistryKey<World> dim : clears) {
+            ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+        }
+
+        buf.writeVarInt(changes.size());
+        changes.forEach((dim, dimChanges) -> {
+            ByteBufUtils.writeResourceLocation(buf, dim.getLocation());
+            buf.writeVarInt(dimChanges.size());
+
+            BlockPos prevStart = BlockPos.ZERO;
+            for (Tuple<TransmissionChain.LightConnection, Boolean> tuple : dimChanges) {
+                BlockPos start = tuple.getA().getStart();
+                ByteBufUtils.writePosDelta(buf, prevStart, start);
+                ByteBufUtils.writePosDelta(buf, start, tuple.getA().getEnd());
+                buf.writeBoolean(tuple.getB());
+                prevStart = start;
+            }
+        });
+        return !clears.isEmpty() || !changes.isEmpty();
+    }
+
+    private List<RegistryKey<World>> collectClears(@Nullable SyncInterest interest) {
+        List<RegistryKey<World>> clears = new ArrayList<>();
+        for (RegistryKey<World> dim : this.dimensionClearBuffer) {
+            if (interest == null || interest.coversDimension(dim)) {
+                clears.add(dim);
+            }
+        }
+        return clears;
+    }
+
+    //The pending changes of the regions the interest covers, in order. Dimensions that are cleared anyway are left out.
+    private Map<RegistryKey<World>, List<Tuple<TransmissionChain.LightConnection, Boolean>>> collectChanges(@Nullable SyncInterest interest) {
+        Map<RegistryKey<World>, List<Tuple<TransmissionChain.LightConnection, Boolean>>> changes = new HashMap<>();
         for (RegistryKey<World> dim : serverChangeBuffer.keySet()) {
-            if (this.dimensionClearBuffer.contains(dim)) {
+            if (this.dimensionClearBuffer.contains(dim) || (interest != null && !interest.coversDimension(dim))) {
                 continue;
             }
 
-            LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> changes = serverChangeBuffer.get(dim);
-            if (!changes.isEmpty()) {
-                ListNBT list = new ListNBT();
-                for (Tuple<TransmissionChain.LightConnection, Boolean> tuple : changes) {
-                    CompoundNBT connection = new CompoundNBT();
-                    connection.putLong("start", tuple.getA().getStart().toLong());
-                    connection.putLong("end",   tuple.getA().getEnd().toLong());
-                    connection.putBoolean("connect", tuple.getB());
-                    list.add(connection);
+            List<Tuple<TransmissionChain.LightConnection, Boolean>> dimChanges = new ArrayList<>();
+            for (Long2ObjectMap.Entry<LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>> entry : Long2ObjectMaps.fastIterable(serverChangeBuffer.get(dim))) {
+                if (interest == null || interest.coversRegion(dim, entry.getLongKey())) {
+                    dimChanges.addAll(entry.getValue());
                 }
-                compound.put(dim.getLocation().toString(), list);
+            }
+            if (!dimChanges.isEmpty()) {
+                changes.put(dim, dimChanges);
             }
         }
+        return changes;
+    }
 
+    @Override
+    public void clearDiff() {
         this.dimensionClearBuffer.clear();
         this.serverChangeBuffer.clear();
     }
@@ -11,6 +11,8 @@ package hellfirepvp.astralsorcery.common.data.sync.server;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractDataProvider;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestManagedData;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import hellfirepvp.astralsorcery.common.data.sync.client.ClientTimeFreezeEffects;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.time.TimeStopEffectHelper;
@@ -34,7 +36,8 @@ import java.util.Map;
  * Created by HellFirePvP
  * Date: 31.08.2019 / 14:01
  */
-public class DataTimeFreezeEffects extends AbstractData {
+//Freeze zones are few and rarely change, so they're only split up by dimension.
+public class DataTimeFreezeEffects extends AbstractData implements InterestManagedData {
 
     private final Map<RegistryKey<World>, List<TimeStopEffectHelper>> serverActiveFreezeZones = new HashMap<>();
 
@@ -74,15 +77,29 @@ public class DataTimeFreezeEffects extends AbstractData {
     public void writeAllDataToPacket(CompoundNBT compound) {
         CompoundNBT dimTag = new CompoundNBT();
         for (RegistryKey<World> dim : this.serverActiveFreezeZones.keySet()) {
-            ListNBT tagList = new ListNBT();
-            for (TimeStopEffectHelper effect : this.serverActiveFreezeZones.get(dim)) {
-                tagList.add(effect.serializeNBT());
-            }
-            dimTag.put(dim.getLocation().toString(), tagList);
+            dimTag.put(dim.getLocation().toString(), writeEffects(this.serverActiveFreezeZones.get(dim)));
         }
         compound.put("dimTypes", dimTag);
     }
 
+    @Override
+    public void writeSnapshotToPacket(CompoundNBT compound, SyncInterest interest) {
+        CompoundNBT dimTag = new CompoundNBT();
+        RegistryKey<World> dim = interest.getDimension();
+        if (interest.coversDimension(dim) && this.serverActiveFreezeZones.containsKey(dim)) {
+            dimTag.put(dim.getLocation().toString(), writeEffects(this.serverActiveFreezeZones.get(dim)));
+        }
+        compound.put("dimTypes", dimTag);
+    }
+
+    private ListNBT writeEffects(List<TimeStopEffectHelper> effects) {
+        ListNBT tagList = new ListNBT();
+        for (TimeStopEffectHelper effect : effects) {
+            tagList.add(effect.serializeNBT());
+        }
+        return tagList;
+    }
+
     @Override
     public void writeDiffDataToPacket(CompoundNBT compound) {
         ListNBT changes = new ListNBT();
@@ -91,6 +108,23 @@ public class DataTimeFreezeEffects extends AbstractData {
         }
         compound.put("changes", changes);
 
+        clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToPacket(CompoundNBT compound, SyncInterest interest) {
+        ListNBT changes = new ListNBT();
+        for (ServerSyncAction action : this.scheduledServerSyncChanges) {
+            if (interest.coversDimension(action.dim)) {
+                changes.add(action.serializeNBT());
+            }
+        }
+        compound.put("changes", changes);
+        return !changes.isEmpty();
+    }
+
+    @Override
+    public void clearDiff() {
         this.scheduledServerSyncChanges.clear();
     }
 
@@ -11,6 +11,8 @@ package hellfirepvp.astralsorcery.common.data.sync.server;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractDataProvider;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestManagedData;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
 import hellfirepvp.astralsorcery.common.data.sync.client.ClientTimeFreezeEntities;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.CompoundNBT;
@@ -29,7 +31,7 @@ import java.util.*;
  * Created by HellFirePvP
  * Date: 03.11.2020 / 20:46
  */
-public class DataTimeFreezeEntities extends AbstractData {
+public class DataTimeFreezeEntities extends AbstractData implements InterestManagedData {
 
     private final Map<RegistryKey<World>, Set<Integer>> serverActiveEntityFreeze = new HashMap<>();
 
@@ -76,6 +78,16 @@ public class DataTimeFreezeEntities extends AbstractData {
         this.writeEntityInformation(compound, this.serverActiveEntityFreeze);
     }
 
+    @Override
+    public void writeSnapshotToPacket(CompoundNBT compound, SyncInterest interest) {
+        Map<RegistryKey<World>, Set<Integer>> entities = new HashMap<>();
+        RegistryKey<World> dim = interest.getDimension();
+        if (interest.coversDimension(dim) && this.serverActiveEntityFreeze.containsKey(dim)) {
+            entities.put(dim, this.serverActiveEntityFreeze.get(dim));
+        }
+        this.writeEntityInformation(compound, entities);
+    }
+
     @Override
     public void writeDiffDataToPacket(CompoundNBT compound) {
         Map<RegistryKey<World>, Set<Integer>> entities = new HashMap<>();
@@ -83,6 +95,23 @@ public class DataTimeFreezeEntities extends AbstractData {
             entities.put(type, this.serverActiveEntityFreeze.getOrDefault(type, new HashSet<>()));
         });
         this.writeEntityInformation(compound, entities);
+        this.clearDiff();
+    }
+
+    @Override
+    public boolean writeDiffDataToPacket(CompoundNBT compound, SyncInterest interest) {
+        Map<RegistryKey<World>, Set<Integer>> entities = new HashMap<>();
+        this.serverSyncTypes.forEach(type -> {
+            if (interest.coversDimension(type)) {
+                entities.put(type, this.serverActiveEntityFreeze.getOrDefault(type, new HashSet<>()));
+            }
+        });
+        this.writeEntityInformation(compound, entities);
+        return !entities.isEmpty();
+    }
+
+    @Override
+    public void clearDiff() {
         this.serverSyncTypes.clear();
     }
 
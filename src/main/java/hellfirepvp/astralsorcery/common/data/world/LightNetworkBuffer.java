@@ -8,12 +8,15 @@
 
 package hellfirepvp.astralsorcery.common.data.world;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.config.entry.LightNetworkConfig;
 import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.IStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.IStarlightTransmission;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.network.BeamSegmentIndex;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionWorldHandler;
@@ -24,22 +27,41 @@ import hellfirepvp.astralsorcery.common.starlight.transmission.registry.Transmis
 import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionProvider;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.block.BlockStateHelper;
+import hellfirepvp.astralsorcery.common.util.log.LogCategory;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
 import hellfirepvp.observerlib.common.data.WorldCacheDomain;
 import hellfirepvp.observerlib.common.data.base.SectionWorldData;
 import hellfirepvp.observerlib.common.data.base.WorldSection;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.ListNBT;
+import net.minecraft.nbt.StringNBT;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nullable;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -51,11 +73,33 @@ import java.util.*;
  */
 public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.ChunkNetworkData> {
 
-    private final Map<BlockPos, IIndependentStarlightSource> starlightSources = new HashMap<>();
-    private Collection<Tuple<BlockPos, IIndependentStarlightSource>> cachedSourceTuples = null;
+    //Version of the packed format, written with the sources and with every chunk's nodes.
+    //Data without a version (0) is the old per-position compound layout. Newer versions than this are not loaded.
+    private static final int FORMAT_VERSION = 1;
+
+    //Positions are keyed by BlockPos.toLong.
+    private final Long2ObjectMap<IIndependentStarlightSource> starlightSources = new Long2ObjectOpenHashMap<>();
+    private List<Tuple<BlockPos, IIndependentStarlightSource>> cachedSourceTuples = null;
+    //The same sources bucketed by ChunkPos.asLong of the chunk they're in, kept up to date alongside starlightSources.
+    private final Long2ObjectMap<Long2ObjectMap<IIndependentStarlightSource>> sourceGrid = new Long2ObjectOpenHashMap<>();
+
+    //Flat view over all sections' nodes, rebuilt the first time it's needed after loading.
+    private final Long2ObjectMap<IPrismTransmissionNode> nodeIndex = new Long2ObjectOpenHashMap<>();
+    private boolean nodeIndexBuilt = false;
 
     private final Set<BlockPos> queueRemoval = new HashSet<>();
 
+    //Not saved, rebuilt from the nodes' links the first time it's needed after loading.
+    private final BeamSegmentIndex beamSegmentIndex = new BeamSegmentIndex();
+
+    //Only present while a requested integrity check still has nodes left to verify.
+    @Nullable
+    private LightNetworkIntegrityCheck integrityCheck = null;
+
+    //Collected while the sources and sections are read/written, reported once loading or saving is done.
+    private final PersistenceStats readStats = new PersistenceStats();
+    private final PersistenceStats writeStats = new PersistenceStats();
+
     public LightNetworkBuffer(WorldCacheDomain.SaveKey<?> key) {
         super(key, PRECISION_CHUNK);
     }
@@ -66,19 +110,27 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
 
     @Override
     protected ChunkNetworkData createNewSection(int sectionX, int sectionZ) {
-        return new ChunkNetworkData(sectionX, sectionZ);
+        return new ChunkNetworkData(this, sectionX, sectionZ);
     }
 
     @Override
     public void updateTick(World world) {
         cleanupQueuedChunks();
+        writeStats.report(world, "Saved");
+
+        if (integrityCheck != null) {
+            integrityCheck.tick(world);
+            if (integrityCheck.isDone()) {
+                integrityCheck = null;
+            }
+        }
 
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
 
-        Iterator<Map.Entry<BlockPos, IIndependentStarlightSource>> iterator = starlightSources.entrySet().iterator();
+        ObjectIterator<Long2ObjectMap.Entry<IIndependentStarlightSource>> iterator = Long2ObjectMaps.fastIterator(starlightSources);
         while (iterator.hasNext()) {
-            Map.Entry<BlockPos, IIndependentStarlightSource> entry = iterator.next();
-            BlockPos pos = entry.getKey();
+            Long2ObjectMap.Entry<IIndependentStarlightSource> entry = iterator.next();
+            BlockPos pos = BlockPos.fromLong(entry.getLongKey());
             IIndependentStarlightSource source = entry.getValue();
 
             MiscUtils.executeWithChunk(world, pos, () -> {
@@ -95,11 +147,15 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
                     AstralSorcery.log.warn("Cached source at " + pos + " but didn't find the TileEntity!");
                     AstralSorcery.log.warn("Purging cache entry and removing erroneous block!");
                     AstralSorcery.log.warn("Block that gets purged: " + BlockStateHelper.serialize(actual));
+                    //The fast iterator reuses its entry, its key isn't valid anymore after removing it.
                     iterator.remove();
+                    this.removeFromSourceGrid(pos.toLong());
+                    this.cachedSourceTuples = null;
                     if (world.setBlockState(pos, actual.getFluidState().getBlockState())) {
                         ChunkNetworkData data = getSection(pos);
                         if (data != null) {
                             data.removeSourceTile(pos);
+                            removeIndexedNode(pos);
                         }
                     }
                 }
@@ -110,39 +166,22 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
     @Override
     public void onLoad(World world) {
         super.onLoad(world);
+        this.beamSegmentIndex.invalidate();
+        this.invalidateNodeIndex();
+        this.readStats.report(world, "Loaded");
 
         if (LightNetworkConfig.CONFIG.performNetworkIntegrityCheck.get()) {
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performing StarlightNetwork integrity check for world " + world.getDimensionKey().getLocation());
-            List<IPrismTransmissionNode> invalidRemoval = new LinkedList<>();
-
+            //Nodes get checked and set up once their chunk is loaded, instead of force-loading all of them here.
+            LightNetworkIntegrityCheck check = new LightNetworkIntegrityCheck(this);
             for (ChunkNetworkData data : getSections()) {
                 for (ChunkSectionNetworkData secData : data.sections.values()) {
                     for (IPrismTransmissionNode node : secData.getAllTransmissionNodes()) {
-                        IStarlightTransmission<?> te = MiscUtils.getTileAt(world, node.getLocationPos(), IStarlightTransmission.class, true);
-                        if (te == null) {
-                            invalidRemoval.add(node);
-                            continue;
-                        }
-                        IPrismTransmissionNode newNode = te.provideTransmissionNode(node.getLocationPos());
-                        if (!node.getClass().isAssignableFrom(newNode.getClass())) {
-                            invalidRemoval.add(node);
-                            continue;
-                        }
-
-                        if (node.needsUpdate()) {
-                            StarlightUpdateHandler.getInstance().addNode(world, node);
-                        }
-                        node.postLoad(world);
+                        check.addNode(node);
                     }
                 }
             }
-
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performed StarlightNetwork integrity check. Found " + invalidRemoval.size() + " invalid transmission nodes.");
-            for (IPrismTransmissionNode node : invalidRemoval) {
-                removeTransmission(node.getLocationPos());
-            }
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Removed invalid transmission nodes from the network.");
-
+            check.start(world);
+            this.integrityCheck = check;
         } else {
             for (ChunkNetworkData data : getSections()) {
                 for (ChunkSectionNetworkData secData : data.sections.values()) {
@@ -157,6 +196,12 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         }
     }
 
+    public void informChunkLoad(ChunkPos pos) {
+        if (this.integrityCheck != null) {
+            this.integrityCheck.informChunkLoad(pos);
+        }
+    }
+
     private void cleanupQueuedChunks() {
         for (BlockPos pos : queueRemoval) {
             ChunkNetworkData data = getSection(pos);
@@ -174,57 +219,185 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         return data.getSection(pos.getY() >> 4);
     }
 
+    public BeamSegmentIndex getBeamSegmentIndex(WorldNetworkHandler handler) {
+        if (!this.beamSegmentIndex.isBuilt()) {
+            for (ChunkNetworkData data : getSections()) {
+                for (ChunkSectionNetworkData secData : data.sections.values()) {
+                    for (IPrismTransmissionNode node : secData.getAllTransmissionNodes()) {
+                        this.beamSegmentIndex.updateNode(handler, node);
+                    }
+                }
+            }
+            this.beamSegmentIndex.markBuilt();
+        }
+        return this.beamSegmentIndex;
+    }
+
+    @Nullable
+    public IPrismTransmissionNode getTransmissionNode(BlockPos at) {
+        if (!this.nodeIndexBuilt) {
+            for (ChunkNetworkData data : getSections()) {
+                for (ChunkSectionNetworkData secData : data.sections.values()) {
+                    this.nodeIndex.putAll(secData.nodes);
+                }
+            }
+            this.nodeIndexBuilt = true;
+        }
+        return this.nodeIndex.get(at.toLong());
+    }
+
+    private void indexNode(BlockPos pos, @Nullable ChunkSectionNetworkData section) {
+        if (this.nodeIndexBuilt) {
+            IPrismTransmissionNode node = section != null ? section.getTransmissionNode(pos) : null;
+            if (node != null) {
+                this.nodeIndex.put(pos.toLong(), node);
+            } else {
+                this.nodeIndex.remove(pos.toLong());
+            }
+        }
+    }
+
+    private void removeIndexedNode(BlockPos pos) {
+        this.nodeIndex.remove(pos.toLong());
+    }
+
+    private void invalidateNodeIndex() {
+        this.nodeIndex.clear();
+        this.nodeIndexBuilt = false;
+    }
+
     @Nullable
     public IIndependentStarlightSource getSource(BlockPos at) {
-        return starlightSources.get(at);
+        return starlightSources.get(at.toLong());
     }
 
-    public Collection<Tuple<BlockPos, IIndependentStarlightSource>> getAllSources() {
+    //Array-backed snapshot, only recreated when a source is added or removed.
+    public List<Tuple<BlockPos, IIndependentStarlightSource>> getAllSources() {
         if (cachedSourceTuples == null) {
-            Collection<Tuple<BlockPos, IIndependentStarlightSource>> cache = new LinkedList<>();
-            for (Map.Entry<BlockPos, IIndependentStarlightSource> entry : starlightSources.entrySet()) {
-                cache.add(new Tuple<>(entry.getKey(), entry.getValue()));
+            Tuple<BlockPos, IIndependentStarlightSource>[] tuples = new Tuple[starlightSources.size()];
+            int index = 0;
+            for (Long2ObjectMap.Entry<IIndependentStarlightSource> entry : Long2ObjectMaps.fastIterable(starlightSources)) {
+                tuples[index] = new Tuple<>(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+                index++;
             }
-            this.cachedSourceTuples = Collections.unmodifiableCollection(cache);
+            this.cachedSourceTuples = Collections.unmodifiableList(Arrays.asList(tuples));
         }
         return cachedSourceTuples;
     }
 
+    //Only visits the sources in the chunks the radius reaches into.
+    public List<Tuple<BlockPos, IIndependentStarlightSource>> getAutoLinkSourcesNear(BlockPos at, int radius) {
+        List<Tuple<BlockPos, IIndependentStarlightSource>> found = new ArrayList<>();
+        double radiusSq = radius * radius;
+        for (int chX = (at.getX() - radius) >> 4; chX <= (at.getX() + radius) >> 4; chX++) {
+            for (int chZ = (at.getZ() - radius) >> 4; chZ <= (at.getZ() + radius) >> 4; chZ++) {
+                Long2ObjectMap<IIndependentStarlightSource> chunkSources = sourceGrid.get(ChunkPos.asLong(chX, chZ));
+                if (chunkSources == null) {
+                    continue;
+                }
+                for (Long2ObjectMap.Entry<IIndependentStarlightSource> entry : Long2ObjectMaps.fastIterable(chunkSources)) {
+                    IIndependentStarlightSource source = entry.getValue();
+                    if (!source.providesAutoLink()) {
+                        continue;
+                    }
+                    BlockPos sourcePos = BlockPos.fromLong(entry.getLongKey());
+                    if (sourcePos.distanceSq(at.getX(), at.getY(), at.getZ(), false) <= radiusSq) {
+                        found.add(new Tuple<>(sourcePos, source));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void putSource(long pos, IIndependentStarlightSource source) {
+        this.starlightSources.put(pos, source);
+        BlockPos at = BlockPos.fromLong(pos);
+        long chunk = ChunkPos.asLong(at.getX() >> 4, at.getZ() >> 4);
+        Long2ObjectMap<IIndependentStarlightSource> chunkSources = this.sourceGrid.get(chunk);
+        if (chunkSources == null) {
+            chunkSources = new Long2ObjectOpenHashMap<>();
+            this.sourceGrid.put(chunk, chunkSources);
+        }
+        chunkSources.put(pos, source);
+    }
+
+    private void removeFromSourceGrid(long pos) {
+        BlockPos at = BlockPos.fromLong(pos);
+        long chunk = ChunkPos.asLong(at.getX() >> 4, at.getZ() >> 4);
+        Long2ObjectMap<IIndependentStarlightSource> chunkSources = this.sourceGrid.get(chunk);
+        if (chunkSources != null) {
+            chunkSources.remove(pos);
+            if (chunkSources.isEmpty()) {
+                this.sourceGrid.remove(chunk);
+            }
+        }
+    }
+
+    private Map<BlockPos, IIndependentStarlightSource> copySources() {
+        Map<BlockPos, IIndependentStarlightSource> copy = new HashMap<>();
+        for (Long2ObjectMap.Entry<IIndependentStarlightSource> entry : Long2ObjectMaps.fastIterable(starlightSources)) {
+            copy.put(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
     @Override
     public void readFromNBT(CompoundNBT nbt) {
+        long start = System.nanoTime();
         starlightSources.clear();
+        sourceGrid.clear();
         cachedSourceTuples = null;
-
-        if (nbt.contains("sources")) {
+        beamSegmentIndex.invalidate();
+        invalidateNodeIndex();
+
+        int format = nbt.getInt("format");
+        if (format > FORMAT_VERSION) {
+            AstralSorcery.log.warn("Starlight network sources were saved in format " + format + ", but only formats up to " + FORMAT_VERSION + " can be read! Not loading them.");
+        } else if (format > 0) {
+            long[] positions = nbt.getLongArray("sourcePositions");
+            ListNBT palette = nbt.getList("sourcePalette", Constants.NBT.TAG_STRING);
+            int[] types = nbt.getIntArray("sourceTypes");
+            ListNBT sourceData = nbt.getList("sourceData", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < positions.length && i < types.length && i < sourceData.size(); i++) {
+                readSource(BlockPos.fromLong(positions[i]), palette.getString(types[i]), sourceData.getCompound(i));
+            }
+        } else {
             ListNBT list = nbt.getList("sources", Constants.NBT.TAG_COMPOUND);
             for (int i = 0; i < list.size(); i++) {
                 CompoundNBT sourcePos = list.getCompound(i);
-                BlockPos at = NBTHelper.readBlockPosFromNBT(sourcePos);
-
                 CompoundNBT comp = sourcePos.getCompound("source");
-                ResourceLocation identifier = new ResourceLocation(comp.getString("sTypeId"));
-                SourceClassRegistry.SourceProvider provider = SourceClassRegistry.getProvider(identifier);
-                if (provider == null) {
-                    AstralSorcery.log.warn("Couldn't load source tile at " + at + " - invalid identifier: " + identifier);
-                    continue;
-                }
-                IIndependentStarlightSource source = provider.provideEmptySource();
-                source.readFromNBT(comp);
-                this.starlightSources.put(at, source);
+                readSource(NBTHelper.readBlockPosFromNBT(sourcePos), comp.getString("sTypeId"), comp);
             }
         }
+        readStats.add(System.nanoTime() - start, nbt, 0, starlightSources.size());
+    }
+
+    private void readSource(BlockPos at, String typeId, CompoundNBT comp) {
+        ResourceLocation identifier = new ResourceLocation(typeId);
+        SourceClassRegistry.SourceProvider provider = SourceClassRegistry.getProvider(identifier);
+        if (provider == null) {
+            AstralSorcery.log.warn("Couldn't load source tile at " + at + " - invalid identifier: " + identifier);
+            return;
+        }
+        IIndependentStarlightSource source = provider.provideEmptySource();
+        source.readFromNBT(comp);
+        this.putSource(at.toLong(), source);
     }
 
     @Override
     public void writeToNBT(CompoundNBT nbt) {
+        long start = System.nanoTime();
         cleanupQueuedChunks();
 
-        ListNBT sourceList = new ListNBT();
-        for (BlockPos pos : starlightSources.keySet()) {
-            CompoundNBT sourceTag = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(pos, sourceTag);
+        LongList positions = new LongArrayList(starlightSources.size());
+        IdentifierPalette palette = new IdentifierPalette();
+        IntList types = new IntArrayList(starlightSources.size());
+        ListNBT sourceData = new ListNBT();
+        for (Long2ObjectMap.Entry<IIndependentStarlightSource> entry : Long2ObjectMaps.fastIterable(starlightSources)) {
+            BlockPos pos = BlockPos.fromLong(entry.getLongKey());
             CompoundNBT source = new CompoundNBT();
-            IIndependentStarlightSource sourceNode = starlightSources.get(pos);
+            IIndependentStarlightSource sourceNode = entry.getValue();
             try {
                 sourceNode.writeToNBT(source);
             } catch (Exception exc) {
@@ -232,21 +405,27 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
                 AstralSorcery.log.warn("This is a major problem. To be perfectly save, consider making a backup, then break or mcedit the tileentity out and place a proper/new one...");
                 continue;
             }
-            source.putString("sTypeId", sourceNode.getProvider().getIdentifier().toString());
-            sourceTag.put("source", source);
-            sourceList.add(sourceTag);
-        }
-        nbt.put("sources", sourceList);
+            positions.add(entry.getLongKey());
+            types.add(palette.indexOf(sourceNode.getProvider().getIdentifier()));
+            sourceData.add(source);
+        }
+        nbt.putInt("format", FORMAT_VERSION);
+        nbt.putLongArray("sourcePositions", positions.toLongArray());
+        nbt.put("sourcePalette", palette.identifiers);
+        nbt.putIntArray("sourceTypes", types.toIntArray());
+        nbt.put("sourceData", sourceData);
+        writeStats.add(System.nanoTime() - start, nbt, 0, sourceData.size());
     }
 
     //Network changing
     public void addSource(IStarlightSource<?> source, BlockPos pos) {
         ChunkNetworkData data = getOrCreateSection(pos);
         data.addSourceTile(pos, source);
+        indexNode(pos, getSectionData(pos));
 
         IIndependentStarlightSource newSource = addIndependentSource(pos, source);
         if (newSource != null) {
-            Map<BlockPos, IIndependentStarlightSource> copyTr = Collections.unmodifiableMap(new HashMap<>(starlightSources));
+            Map<BlockPos, IIndependentStarlightSource> copyTr = copySources();
             Thread tr = new Thread(() -> threadedUpdateSourceProximity(copyTr));
             tr.setName("StarlightNetwork-UpdateThread");
             tr.start();
@@ -269,6 +448,7 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
     public void addTransmission(IStarlightTransmission<?> transmission, BlockPos pos) {
         ChunkNetworkData data = getOrCreateSection(pos);
         data.addTransmissionTile(pos, transmission);
+        indexNode(pos, getSectionData(pos));
 
         markDirty(data);
     }
@@ -277,10 +457,12 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         ChunkNetworkData data = getSection(pos);
         if (data == null) return; //Uuuuhm. what happened here.
         data.removeSourceTile(pos);
+        removeIndexedNode(pos);
+        beamSegmentIndex.removeNode(pos);
 
         removeIndependentSource(pos);
 
-        Map<BlockPos, IIndependentStarlightSource> copyTr = Collections.unmodifiableMap(new HashMap<>(starlightSources));
+        Map<BlockPos, IIndependentStarlightSource> copyTr = copySources();
         Thread tr = new Thread(() -> threadedUpdateSourceProximity(copyTr));
         tr.setName("StarlightNetwork-UpdateThread");
         tr.start();
@@ -293,6 +475,8 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         ChunkNetworkData data = getSection(pos);
         if (data == null) return; //Not that i'm sad, it's just... uhm..
         data.removeTransmissionTile(pos);
+        removeIndexedNode(pos);
+        beamSegmentIndex.removeNode(pos);
 
         checkIntegrity(pos);
         markDirty(data);
@@ -316,27 +500,37 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         ITransmissionSource node = source.getNode();
         if (node != null) {
             IIndependentStarlightSource sourceNode = node.provideNewIndependentSource(source);
-            this.starlightSources.put(pos, sourceNode);
+            this.putSource(pos.toLong(), sourceNode);
             return sourceNode;
         }
         return null;
     }
 
     private void removeIndependentSource(BlockPos pos) {
-        this.starlightSources.remove(pos);
+        this.starlightSources.remove(pos.toLong());
+        this.removeFromSourceGrid(pos.toLong());
         this.cachedSourceTuples = null;
     }
 
     public static class ChunkNetworkData extends WorldSection {
 
-        private final Map<Integer, ChunkSectionNetworkData> sections = new HashMap<>();
+        private final LightNetworkBuffer buffer;
+        private final Int2ObjectMap<ChunkSectionNetworkData> sections = new Int2ObjectOpenHashMap<>();
 
-        ChunkNetworkData(int sX, int sZ) {
+        ChunkNetworkData(LightNetworkBuffer buffer, int sX, int sZ) {
             super(sX, sZ);
+            this.buffer = buffer;
         }
 
         @Override
         public void readFromNBT(CompoundNBT tag) {
+            long start = System.nanoTime();
+            int format = tag.getInt("format");
+            if (format > FORMAT_VERSION) {
+                AstralSorcery.log.warn("Starlight network nodes of a chunk were saved in format " + format + ", but only formats up to " + FORMAT_VERSION + " can be read! Not loading them.");
+                return;
+            }
+            int nodes = 0;
             for (String key : tag.keySet()) {
                 int yLevel;
                 try {
@@ -344,20 +538,30 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
                 } catch (NumberFormatException exc) {
                     continue;
                 }
-                ListNBT yData = tag.getList(key, Constants.NBT.TAG_COMPOUND);
-                ChunkSectionNetworkData sectionNetData = ChunkSectionNetworkData.loadFromNBT(yData);
+                ChunkSectionNetworkData sectionNetData;
+                if (format > 0) {
+                    sectionNetData = ChunkSectionNetworkData.loadFromNBT(tag.getCompound(key));
+                } else {
+                    sectionNetData = ChunkSectionNetworkData.loadLegacyNBT(tag.getList(key, Constants.NBT.TAG_COMPOUND));
+                }
                 this.sections.put(yLevel, sectionNetData);
+                nodes += sectionNetData.nodes.size();
             }
+            this.buffer.readStats.add(System.nanoTime() - start, tag, nodes, 0);
         }
 
         @Override
         public void writeToNBT(CompoundNBT data) {
-            for (Integer yLevel : sections.keySet()) {
-                ChunkSectionNetworkData sectionData = sections.get(yLevel);
-                ListNBT sectionTag = new ListNBT();
-                sectionData.writeToNBT(sectionTag);
-                data.put(String.valueOf(yLevel), sectionTag);
+            long start = System.nanoTime();
+            data.putInt("format", FORMAT_VERSION);
+            int nodes = 0;
+            for (Int2ObjectMap.Entry<ChunkSectionNetworkData> entry : Int2ObjectMaps.fastIterable(sections)) {
+                CompoundNBT sectionTag = new CompoundNBT();
+                entry.getValue().writeToNBT(sectionTag);
+                data.put(String.valueOf(entry.getIntKey()), sectionTag);
+                nodes += entry.getValue().nodes.size();
             }
+            this.buffer.writeStats.add(System.nanoTime() - start, data, nodes, 0);
         }
 
         //Also allows for passing invalid yLevels outside of 0 to 15
@@ -367,12 +571,7 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         }
 
         public void checkIntegrity() {
-            Iterator<Integer> iterator = sections.keySet().iterator();
-            while (iterator.hasNext()) {
-                Integer yLevel = iterator.next();
-                ChunkSectionNetworkData data = sections.get(yLevel);
-                if (data.isEmpty()) iterator.remove();
-            }
+            sections.values().removeIf(ChunkSectionNetworkData::isEmpty);
         }
 
         public boolean isEmpty() {
@@ -418,44 +617,66 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
 
     public static class ChunkSectionNetworkData {
 
-        private final Map<BlockPos, IPrismTransmissionNode> nodes = new HashMap<>();
+        //Positions are keyed by BlockPos.toLong.
+        private final Long2ObjectMap<IPrismTransmissionNode> nodes = new Long2ObjectOpenHashMap<>();
 
-        private static ChunkSectionNetworkData loadFromNBT(ListNBT sectionData) {
+        private static ChunkSectionNetworkData loadFromNBT(CompoundNBT sectionTag) {
+            ChunkSectionNetworkData netData = new ChunkSectionNetworkData();
+            long[] positions = sectionTag.getLongArray("positions");
+            ListNBT palette = sectionTag.getList("palette", Constants.NBT.TAG_STRING);
+            int[] types = sectionTag.getIntArray("types");
+            ListNBT nodeData = sectionTag.getList("nodes", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < positions.length && i < types.length && i < nodeData.size(); i++) {
+                netData.readNode(BlockPos.fromLong(positions[i]), palette.getString(types[i]), nodeData.getCompound(i), false);
+            }
+            return netData;
+        }
+
+        //Format before sections were packed, only read to migrate existing networks.
+        private static ChunkSectionNetworkData loadLegacyNBT(ListNBT sectionData) {
             ChunkSectionNetworkData netData = new ChunkSectionNetworkData();
             for (int i = 0; i < sectionData.size(); i++) {
                 CompoundNBT nodeComp = sectionData.getCompound(i);
-                BlockPos pos = NBTHelper.readBlockPosFromNBT(nodeComp);
-
                 CompoundNBT prismComp = nodeComp.getCompound("nodeTag");
-                ResourceLocation nodeIdentifier = new ResourceLocation(prismComp.getString("trNodeId"));
-                TransmissionProvider provider = TransmissionClassRegistry.getProvider(nodeIdentifier);
-                if (provider == null) {
-                    AstralSorcery.log.warn("Couldn't load node tile at " + pos + " - invalid identifier: " + nodeIdentifier);
-                    continue;
-                }
-                IPrismTransmissionNode node = provider.get();
-                node.readFromNBT(prismComp);
-                netData.nodes.put(pos, node);
+                netData.readNode(NBTHelper.readBlockPosFromNBT(nodeComp), prismComp.getString("trNodeId"), prismComp, true);
             }
             return netData;
         }
 
-        private void writeToNBT(ListNBT sectionData) {
-            for (Map.Entry<BlockPos, IPrismTransmissionNode> node : nodes.entrySet()) {
-                try {
-                    CompoundNBT nodeComp = new CompoundNBT();
-                    NBTHelper.writeBlockPosToNBT(node.getKey(), nodeComp);
+        private void readNode(BlockPos pos, String typeId, CompoundNBT prismComp, boolean legacy) {
+            ResourceLocation nodeIdentifier = new ResourceLocation(typeId);
+            TransmissionProvider provider = TransmissionClassRegistry.getProvider(nodeIdentifier);
+            if (provider == null) {
+                AstralSorcery.log.warn("Couldn't load node tile at " + pos + " - invalid identifier: " + nodeIdentifier);
+                return;
+            }
+            IPrismTransmissionNode node = provider.get();
+            if (legacy) {
+                node.readLegacyNBT(prismComp);
+            } else {
+                node.readFromNBT(prismComp, pos);
+            }
+            this.nodes.put(pos.toLong(), node);
+        }
 
+        private void writeToNBT(CompoundNBT sectionTag) {
+            LongList positions = new LongArrayList(nodes.size());
+            IdentifierPalette palette = new IdentifierPalette();
+            IntList types = new IntArrayList(nodes.size());
+            ListNBT nodeData = new ListNBT();
+            for (Long2ObjectMap.Entry<IPrismTransmissionNode> node : Long2ObjectMaps.fastIterable(nodes)) {
+                try {
                     CompoundNBT prismComp = new CompoundNBT();
                     IPrismTransmissionNode prismNode = node.getValue();
                     prismNode.writeToNBT(prismComp);
-                    prismComp.putString("trNodeId", prismNode.getProvider().getIdentifier().toString());
+                    int type = palette.indexOf(prismNode.getProvider().getIdentifier());
 
-                    nodeComp.put("nodeTag", prismComp);
-                    sectionData.add(nodeComp);
+                    positions.add(node.getLongKey());
+                    types.add(type);
+                    nodeData.add(prismComp);
                 } catch (Exception exc) {
                     try {
-                        BlockPos at = node.getKey();
+                        BlockPos at = BlockPos.fromLong(node.getLongKey());
                         AstralSorcery.log.warn("Couldn't write node data for network node at " + at.toString() + "!");
                         AstralSorcery.log.warn("This is a major problem. To be perfectly save, consider making a backup, then break or mcedit the tileentity out and place a proper/new one...");
                     } catch (Exception exc2) {
@@ -470,6 +691,10 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
                     }
                 }
             }
+            sectionTag.putLongArray("positions", positions.toLongArray());
+            sectionTag.put("palette", palette.identifiers);
+            sectionTag.putIntArray("types", types.toIntArray());
+            sectionTag.put("nodes", nodeData);
         }
 
         public boolean isEmpty() {
@@ -482,7 +707,7 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
 
         @Nullable
         public IPrismTransmissionNode getTransmissionNode(BlockPos at) {
-            return nodes.get(at);
+            return nodes.get(at.toLong());
         }
 
         private void removeSourceTile(BlockPos pos) {
@@ -496,7 +721,7 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         }
 
         private void removeNode(BlockPos pos) {
-            nodes.remove(pos);
+            nodes.remove(pos.toLong());
         }
 
         private void addSourceTile(BlockPos pos, IStarlightSource<?> source) {
@@ -510,9 +735,67 @@ public class LightNetworkBuffer extends SectionWorldData<LightNetworkBuffer.Chun
         }
 
         private void addNode(BlockPos pos, IStarlightTransmission<?> transmission) {
-            nodes.put(pos, transmission.provideTransmissionNode(pos));
+            nodes.put(pos.toLong(), transmission.provideTransmissionNode(pos));
         }
 
     }
 
+    //Maps provider identifiers to indices, so every entry only stores an int instead of its identifier.
+    private static class IdentifierPalette {
+
+        private final Object2IntMap<String> indices = new Object2IntOpenHashMap<>();
+        private final ListNBT identifiers = new ListNBT();
+
+        private int indexOf(ResourceLocation identifier) {
+            String key = identifier.toString();
+            if (!indices.containsKey(key)) {
+                indices.put(key, identifiers.size());
+                identifiers.add(StringNBT.valueOf(key));
+            }
+            return indices.getInt(key);
+        }
+    }
+
+    private static class PersistenceStats {
+
+        private long nanos = 0;
+        private long bytes = 0;
+        private int nodes = 0;
+        private int sources = 0;
+        private boolean pending = false;
+
+        private void add(long nanos, INBT data, int nodes, int sources) {
+            this.nanos += nanos;
+            this.nodes += nodes;
+            this.sources += sources;
+            this.pending = true;
+            //Measuring means serializing everything a second time, only do that if anyone's going to read it.
+            if (LogCategory.LIGHT_NETWORK_PERSISTENCE.isEnabled()) {
+                CountingOutputStream out = new CountingOutputStream(ByteStreams.nullOutputStream());
+                try {
+                    data.write(new DataOutputStream(out));
+                } catch (IOException ignored) {}
+                this.bytes += out.getCount();
+            }
+        }
+
+        private void report(World world, String action) {
+            if (!this.pending) {
+                return;
+            }
+            long nanos = this.nanos;
+            long bytes = this.bytes;
+            int nodes = this.nodes;
+            int sources = this.sources;
+            LogCategory.LIGHT_NETWORK_PERSISTENCE.info(() -> String.format("%s %d starlight network nodes and %d sources for %s in %.2fms (%d bytes uncompressed)",
+                    action, nodes, sources, world.getDimensionKey().getLocation(), nanos / 1_000_000D, bytes));
+
+            this.nanos = 0;
+            this.bytes = 0;
+            this.nodes = 0;
+            this.sources = 0;
+            this.pending = false;
+        }
+    }
+
 }
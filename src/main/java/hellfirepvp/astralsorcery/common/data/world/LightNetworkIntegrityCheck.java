@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.world;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.data.config.entry.LightNetworkConfig;
+import hellfirepvp.astralsorcery.common.starlight.IStarlightTransmission;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: LightNetworkIntegrityCheck
+ * Created by agent
+ * Date: 18.10.2026 / 05:12
+ */
+//Verifies the nodes of a LightNetworkBuffer against their tileentities without loading every chunk at once.
+//Nodes are checked whenever their chunk loads on its own, the rest is picked up by a sweep that
+//only loads a few chunks per tick.
+public class LightNetworkIntegrityCheck {
+
+    private static final String PREFIX = "[LightNetworkIntegrityCheck] ";
+
+    private final LightNetworkBuffer buffer;
+
+    //Nodes left to verify, keyed by ChunkPos.asLong of the chunk they're in.
+    private final Long2ObjectMap<List<IPrismTransmissionNode>> pendingChunks = new Long2ObjectOpenHashMap<>();
+    private final LongSet loadedChunks = new LongOpenHashSet();
+
+    private int totalNodes = 0;
+    private int verifiedNodes = 0;
+    private int invalidNodes = 0;
+    private int reportedStep = 0;
+
+    LightNetworkIntegrityCheck(LightNetworkBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    void addNode(IPrismTransmissionNode node) {
+        BlockPos pos = node.getLocationPos();
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        List<IPrismTransmissionNode> nodes = this.pendingChunks.get(chunk);
+        if (nodes == null) {
+            nodes = new ArrayList<>();
+            this.pendingChunks.put(chunk, nodes);
+        }
+        nodes.add(node);
+        this.totalNodes++;
+    }
+
+    void start(World world) {
+        AstralSorcery.log.info(PREFIX + "Checking " + this.totalNodes + " starlight network nodes in " + this.pendingChunks.size() + " chunks for world " + world.getDimensionKey().getLocation() + " as their chunks load.");
+    }
+
+    public boolean isDone() {
+        return this.pendingChunks.isEmpty();
+    }
+
+    //Only remembered here, the tileentities might not be accessible yet while the chunk is still loading.
+    void informChunkLoad(ChunkPos pos) {
+        long chunk = pos.asLong();
+        if (this.pendingChunks.containsKey(chunk)) {
+            this.loadedChunks.add(chunk);
+        }
+    }
+
+    void tick(World world) {
+        LongIterator loaded = this.loadedChunks.iterator();
+        while (loaded.hasNext()) {
+            long chunk = loaded.nextLong();
+            loaded.remove();
+            if (world.getChunkProvider().isChunkLoaded(new ChunkPos(chunk))) {
+                verifyChunk(world, chunk, false);
+            }
+        }
+
+        int budget = LightNetworkConfig.CONFIG.integrityCheckChunksPerTick.get();
+        if (budget > 0 && !this.pendingChunks.isEmpty()) {
+            long[] sweep = new long[Math.min(budget, this.pendingChunks.size())];
+            LongIterator pending = this.pendingChunks.keySet().iterator();
+            for (int i = 0; i < sweep.length; i++) {
+                sweep[i] = pending.nextLong();
+            }
+            for (long chunk : sweep) {
+                verifyChunk(world, chunk, true);
+            }
+        }
+
+        reportProgress(world);
+    }
+
+    private void verifyChunk(World world, long chunk, boolean forceChunkLoad) {
+        List<IPrismTransmissionNode> nodes = this.pendingChunks.remove(chunk);
+        if (nodes == null) {
+            return;
+        }
+        List<BlockPos> invalidRemoval = new ArrayList<>();
+        for (IPrismTransmissionNode node : nodes) {
+            this.verifiedNodes++;
+            BlockPos pos = node.getLocationPos();
+            if (this.buffer.getTransmissionNode(pos) != node) {
+                continue; //Removed or replaced since loading, nothing to check anymore.
+            }
+
+            IStarlightTransmission<?> te = MiscUtils.getTileAt(world, pos, IStarlightTransmission.class, forceChunkLoad);
+            if (te == null) {
+                invalidRemoval.add(pos);
+                continue;
+            }
+            IPrismTransmissionNode newNode = te.provideTransmissionNode(pos);
+            if (!node.getClass().isAssignableFrom(newNode.getClass())) {
+                invalidRemoval.add(pos);
+                continue;
+            }
+
+            if (node.needsUpdate()) {
+                StarlightUpdateHandler.getInstance().addNode(world, node);
+            }
+            node.postLoad(world);
+        }
+        this.invalidNodes += invalidRemoval.size();
+        for (BlockPos pos : invalidRemoval) {
+            this.buffer.removeTransmission(pos);
+        }
+    }
+
+    private void reportProgress(World world) {
+        if (this.isDone()) {
+            AstralSorcery.log.info(PREFIX + "Performed StarlightNetwork integrity check for world " + world.getDimensionKey().getLocation() + ". Found and removed " + this.invalidNodes + " invalid transmission nodes out of " + this.totalNodes + ".");
+            return;
+        }
+        int step = (this.verifiedNodes * 10) / this.totalNodes;
+        if (step > this.reportedStep) {
+            this.reportedStep = step;
+            AstralSorcery.log.info(PREFIX + "Checked " + this.verifiedNodes + "/" + this.totalNodes + " nodes for world " + world.getDimensionKey().getLocation() + ", " + this.invalidNodes + " invalid so far.");
+        }
+    }
+}
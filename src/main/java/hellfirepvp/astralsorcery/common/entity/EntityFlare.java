@@ -23,7 +23,7 @@ import hellfirepvp.astralsorcery.common.item.armor.ItemMantle;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
 import hellfirepvp.astralsorcery.common.lib.ConstellationsAS;
 import hellfirepvp.astralsorcery.common.lib.EntityTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.util.DamageUtil;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -255,7 +255,7 @@ public class EntityFlare extends FlyingEntity {
                     ByteBufUtils.writeVector(buf, Vector3.atEntityCorner(target).addY(target.getHeight() / 2F));
                     buf.writeInt(ColorsAS.EFFECT_LIGHTNING.getRGB());
                 });
-        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(this.getEntityWorld(), this.getPosition(), 32));
+        PlayEffectBatcher.sendToAllAround(pkt, this.getEntityWorld(), this.getPosition(), 32);
     }
 
     private void doMovement() {
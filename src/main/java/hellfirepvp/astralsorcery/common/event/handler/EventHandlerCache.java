@@ -25,10 +25,14 @@ import hellfirepvp.astralsorcery.common.event.helper.EventHelperInvulnerability;
 import hellfirepvp.astralsorcery.common.event.helper.EventHelperSpawnDeny;
 import hellfirepvp.astralsorcery.common.event.helper.EventHelperTemporaryFlight;
 import hellfirepvp.astralsorcery.common.lib.ItemsAS;
+import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.perk.*;
 import hellfirepvp.astralsorcery.common.perk.type.PerkAttributeType;
+import hellfirepvp.astralsorcery.common.starlight.network.NetworkTelemetry;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
+import hellfirepvp.astralsorcery.common.starlight.network.handler.BlockTransmutationHandler;
+import hellfirepvp.astralsorcery.common.tile.base.TileSyncHandler;
 import hellfirepvp.astralsorcery.common.util.time.TimeStopController;
 import hellfirepvp.astralsorcery.common.util.world.WorldSeedCache;
 import net.minecraft.entity.player.ServerPlayerEntity;
@@ -66,6 +70,7 @@ public class EventHandlerCache {
         EffectHandler.cleanUp();
         ScreenJournalProgression.resetJournal();
         ClientCameraManager.INSTANCE.removeAllAndCleanup();
+        PktPlayEffect.releasePendingEffects();
 
         SyncDataHolder.clear(LogicalSide.CLIENT);
         PerkTree.PERK_TREE.clearCache(LogicalSide.CLIENT);
@@ -94,6 +99,9 @@ public class EventHandlerCache {
 
         StarlightTransmissionHandler.getInstance().clearServer();
         StarlightUpdateHandler.getInstance().clearServer();
+        TileSyncHandler.getInstance().clearServer();
+        BlockTransmutationHandler.clearServer();
+        NetworkTelemetry.reset();
         EventHelperTemporaryFlight.clearServer();
         EventHelperSpawnDeny.clearServer();
         EventHelperInvulnerability.clearServer();
@@ -108,6 +116,8 @@ public class EventHandlerCache {
 
             SyncDataHolder.clearWorld(world);
             StarlightTransmissionHandler.getInstance().informWorldUnload(world);
+            BlockTransmutationHandler.informWorldUnload(world);
+            TileSyncHandler.getInstance().informWorldUnload(world);
             TimeStopController.onWorldUnload(world);
             SkyHandler.getInstance().informWorldUnload(world);
         }
@@ -21,7 +21,7 @@ import hellfirepvp.astralsorcery.common.data.research.ResearchHelper;
 import hellfirepvp.astralsorcery.common.item.base.OverrideInteractItem;
 import hellfirepvp.astralsorcery.common.lib.CapabilitiesAS;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.base.TileAreaOfInfluence;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -139,7 +139,7 @@ public class ItemResonator extends Item implements OverrideInteractItem {
                                         ByteBufUtils.writeFluidStack(buf, display);
                                         ByteBufUtils.writeVector(buf, new Vector3(pos));
                                     });
-                                    PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, pos, 32));
+                                    PlayEffectBatcher.sendToAllAround(pkt, world, pos, 32);
                                 }
                             });
                         }
@@ -12,7 +12,7 @@ import hellfirepvp.astralsorcery.common.data.research.PlayerProgress;
 import hellfirepvp.astralsorcery.common.data.research.ResearchHelper;
 import hellfirepvp.astralsorcery.common.event.EventFlags;
 import hellfirepvp.astralsorcery.common.lib.PerkAttributeTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.perk.modifier.DynamicAttributeModifier;
 import hellfirepvp.astralsorcery.common.perk.modifier.PerkAttributeModifier;
@@ -70,7 +70,7 @@ public class ItemInfusedCrystalAxe extends ItemCrystalAxe implements EquipmentAt
                                             ByteBufUtils.writePos(buf, at);
                                             ByteBufUtils.writeBlockState(buf, currentState);
                                         });
-                                PacketChannel.CHANNEL.sendToAllAround(ev, PacketChannel.pointFromPos(world, at, 32));
+                                PlayEffectBatcher.sendToAllAround(ev, world, at, 32);
                             }
                         });
 
@@ -11,7 +11,7 @@ package hellfirepvp.astralsorcery.common.item.tool;
 import hellfirepvp.astralsorcery.common.data.research.PlayerProgress;
 import hellfirepvp.astralsorcery.common.data.research.ResearchHelper;
 import hellfirepvp.astralsorcery.common.event.EventFlags;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.util.block.BlockDiscoverer;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
@@ -58,7 +58,7 @@ public class ItemInfusedCrystalShovel extends ItemCrystalShovel {
                                                 ByteBufUtils.writePos(buf, at);
                                                 ByteBufUtils.writeBlockState(buf, currentState);
                                             });
-                                    PacketChannel.CHANNEL.sendToAllAround(ev, PacketChannel.pointFromPos(world, at, 32));
+                                    PlayEffectBatcher.sendToAllAround(ev, world, at, 32);
                                 }
                             });
 
@@ -24,7 +24,7 @@ import hellfirepvp.astralsorcery.common.item.base.AlignmentChargeConsumer;
 import hellfirepvp.astralsorcery.common.item.base.ItemBlockStorage;
 import hellfirepvp.astralsorcery.common.item.base.client.ItemHeldRender;
 import hellfirepvp.astralsorcery.common.item.base.client.ItemOverlayRender;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.util.MapStream;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -211,7 +211,7 @@ public class ItemArchitectWand extends Item implements ItemBlockStorage, ItemOve
                             ByteBufUtils.writePos(buf, placePos);
                             ByteBufUtils.writeBlockState(buf, stateToPlace);
                         });
-                PacketChannel.CHANNEL.sendToAllAround(ev, PacketChannel.pointFromPos(world, placePos, 32));
+                PlayEffectBatcher.sendToAllAround(ev, world, placePos, 32);
             }
         }
         return ActionResult.resultSuccess(held);
@@ -26,7 +26,7 @@ import hellfirepvp.astralsorcery.common.item.base.AlignmentChargeConsumer;
 import hellfirepvp.astralsorcery.common.item.base.ItemBlockStorage;
 import hellfirepvp.astralsorcery.common.item.base.client.ItemHeldRender;
 import hellfirepvp.astralsorcery.common.item.base.client.ItemOverlayRender;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.util.MapStream;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -222,7 +222,7 @@ public class ItemExchangeWand extends Item implements ItemBlockStorage, ItemOver
                             ByteBufUtils.writePos(buf, placePos);
                             ByteBufUtils.writeBlockState(buf, prevState);
                         });
-                PacketChannel.CHANNEL.sendToAllAround(ev, PacketChannel.pointFromPos(world, placePos, 32));
+                PlayEffectBatcher.sendToAllAround(ev, world, placePos, 32);
             }
         }
 
@@ -19,7 +19,7 @@ import hellfirepvp.astralsorcery.common.data.world.RockCrystalBuffer;
 import hellfirepvp.astralsorcery.common.item.base.OverrideInteractItem;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
 import hellfirepvp.astralsorcery.common.lib.DataAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.structure.types.StructureType;
 import hellfirepvp.astralsorcery.common.tile.base.TileRequiresMultiblock;
@@ -82,12 +82,12 @@ public class ItemWand extends Item implements OverrideInteractItem {
                             if (!DayTimeHelper.isDay(world) && random.nextInt(600) == 0) {
                                 PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.ROCK_CRYSTAL_COLUMN)
                                         .addData(b -> ByteBufUtils.writeVector(b, new Vector3(rPos.up())));
-                                PacketChannel.CHANNEL.sendToPlayer((PlayerEntity) entity, pkt);
+                                PlayEffectBatcher.sendToPlayer((PlayerEntity) entity, pkt);
                             }
                             if (random.nextInt(800) == 0) {
                                 PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.ROCK_CRYSTAL_SPARKS)
                                         .addData(b -> ByteBufUtils.writeVector(b, new Vector3(rPos.up())));
-                                PacketChannel.CHANNEL.sendToPlayer((PlayerEntity) entity, pkt);
+                                PlayEffectBatcher.sendToPlayer((PlayerEntity) entity, pkt);
                             }
                         });
                     }
@@ -65,6 +65,7 @@ public class PacketChannel {
         // PLAY DEDICATED_SERVER -> CLIENT
         registerMessage(PktOreScan::new);
         registerMessage(PktPlayEffect::new);
+        registerMessage(PktPlayEffectBundle::new);
         registerMessage(PktProgressionUpdate::new);
         registerMessage(PktShootEntity::new);
         registerMessage(PktSyncCharge::new);
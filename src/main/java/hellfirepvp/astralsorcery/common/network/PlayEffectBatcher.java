@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.network;
+
+import hellfirepvp.astralsorcery.common.data.config.entry.GeneralConfig;
+import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
+import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffectBundle;
+import hellfirepvp.observerlib.common.util.tick.ITickHandler;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.Tuple;
+import net.minecraft.util.math.vector.Vector3i;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.LogicalSidedProvider;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PlayEffectBatcher
+ * Created by agent
+ * Date: 18.10.2026 / 05:38
+ */
+//Collects the effects sent during a tick and sends every player a single bundle of the ones around them at the end of it.
+//Effects of the same type at the same position are only sent once, and every player receives at most the configured budget of effects per tick.
+public class PlayEffectBatcher implements ITickHandler {
+
+    private static final PlayEffectBatcher INSTANCE = new PlayEffectBatcher();
+    private static final Object lck = new Object();
+
+    //Coalesced effects are keyed by type and position, all others by themselves.
+    private static Map<Object, QueuedEffect> queuedEffects = new LinkedHashMap<>();
+
+    private PlayEffectBatcher() {}
+
+    public static PlayEffectBatcher getInstance() {
+        return INSTANCE;
+    }
+
+    public static void sendToAllAround(PktPlayEffect effect, World world, Vector3i pos, double range) {
+        sendToAllAround(effect, world.getDimensionKey(), pos, range);
+    }
+
+    public static void sendToAllAround(PktPlayEffect effect, RegistryKey<World> dim, Vector3i pos, double range) {
+        QueuedEffect queued = new QueuedEffect(effect.getType(), effect.encodeData(), dim, pos, range * range, null);
+        synchronized (lck) {
+            if (effect.getType().isCoalescedByPosition()) {
+                queuedEffects.put(new EffectKey(effect.getType(), dim, pos.getX(), pos.getY(), pos.getZ()), queued);
+            } else {
+                queuedEffects.put(queued, queued);
+            }
+        }
+    }
+
+    public static void sendToPlayer(PlayerEntity player, PktPlayEffect effect) {
+        QueuedEffect queued = new QueuedEffect(effect.getType(), effect.encodeData(), player.getEntityWorld().getDimensionKey(),
+                player.getPosition(), 0, player.getUniqueID());
+        synchronized (lck) {
+            queuedEffects.put(queued, queued);
+        }
+    }
+
+    @Override
+    public void tick(TickEvent.Type type, Object... context) {
+        List<QueuedEffect> effects;
+        synchronized (lck) {
+            if (queuedEffects.isEmpty()) {
+                return;
+            }
+            effects = new ArrayList<>(queuedEffects.values());
+            queuedEffects = new LinkedHashMap<>();
+        }
+        MinecraftServer server = LogicalSidedProvider.INSTANCE.get(LogicalSide.SERVER);
+        if (server == null) {
+            return;
+        }
+
+        int budget = GeneralConfig.CONFIG.playEffectBudget.get();
+        for (ServerPlayerEntity player : server.getPlayerList().getPlayers()) {
+            List<QueuedEffect> playerEffects = new ArrayList<>();
+            for (QueuedEffect effect : effects) {
+                if (effect.isSentTo(player)) {
+                    playerEffects.add(effect);
+                }
+            }
+            if (playerEffects.isEmpty()) {
+                continue;
+            }
+            if (playerEffects.size() > budget) {
+                //Effects sent to the player directly come first, then the closest ones. Those kept are still played in the order they were sent in.
+                List<QueuedEffect> closest = new ArrayList<>(playerEffects);
+                closest.sort(Comparator.comparingDouble(effect -> effect.getDistanceSq(player)));
+                Set<QueuedEffect> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+                kept.addAll(closest.subList(0, budget));
+                playerEffects.removeIf(effect -> !kept.contains(effect));
+            }
+
+            List<Tuple<PktPlayEffect.Type, byte[]>> bundle = new ArrayList<>(playerEffects.size());
+            for (QueuedEffect effect : playerEffects) {
+                bundle.add(new Tuple<>(effect.type, effect.data));
+            }
+            PacketChannel.CHANNEL.sendToPlayer(player, new PktPlayEffectBundle(bundle));
+        }
+    }
+
+    @Override
+    public EnumSet<TickEvent.Type> getHandledTypes() {
+        return EnumSet.of(TickEvent.Type.SERVER);
+    }
+
+    @Override
+    public boolean canFire(TickEvent.Phase phase) {
+        return phase == TickEvent.Phase.END;
+    }
+
+    @Override
+    public String getName() {
+        return "Play Effect Batcher";
+    }
+
+    private static class QueuedEffect {
+
+        private final PktPlayEffect.Type type;
+        private final byte[] data;
+        private final RegistryKey<World> dim;
+        private final double x, y, z;
+        private final double rangeSq;
+        @Nullable
+        private final UUID target;
+
+        private QueuedEffect(PktPlayEffect.Type type, byte[] data, RegistryKey<World> dim, Vector3i pos, double rangeSq, @Nullable UUID target) {
+            this.type = type;
+            this.data = data;
+            this.dim = dim;
+            this.x = pos.getX();
+            this.y = pos.getY();
+            this.z = pos.getZ();
+            this.rangeSq = rangeSq;
+            this.target = target;
+        }
+
+        private boolean isSentTo(ServerPlayerEntity player) {
+            if (this.target != null) {
+                return this.target.equals(player.getUniqueID());
+            }
+            return this.dim.equals(player.getEntityWorld().getDimensionKey()) &&
+                    player.getDistanceSq(this.x, this.y, this.z) < this.rangeSq;
+        }
+
+        private double getDistanceSq(ServerPlayerEntity player) {
+            if (this.target != null) {
+                return -1;
+            }
+            return player.getDistanceSq(this.x, this.y, this.z);
+        }
+    }
+
+    private static class EffectKey {
+
+        private final PktPlayEffect.Type type;
+        private final RegistryKey<World> dim;
+        private final int x, y, z;
+
+        private EffectKey(PktPlayEffect.Type type, RegistryKey<World> dim, int x, int y, int z) {
+            this.type = type;
+            this.dim = dim;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            EffectKey that = (EffectKey) o;
+            return x == that.x &&
+                    y == that.y &&
+                    z == that.z &&
+                    type == that.type &&
+                    dim.equals(that.dim);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, dim, x, y, z);
+        }
+    }
+}
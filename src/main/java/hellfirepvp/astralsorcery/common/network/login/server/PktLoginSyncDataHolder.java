@@ -13,9 +13,10 @@ import hellfirepvp.astralsorcery.common.data.sync.SyncDataRegistry;
 import hellfirepvp.astralsorcery.common.data.sync.base.AbstractData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.InterestManagedData;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncPayload;
 import hellfirepvp.astralsorcery.common.network.base.ASLoginPacket;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
-import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -35,7 +36,7 @@ import java.util.Map;
  */
 public class PktLoginSyncDataHolder extends ASLoginPacket<PktLoginSyncDataHolder> {
 
-    private Map<ResourceLocation, CompoundNBT> syncData = new HashMap<>();
+    private Map<ResourceLocation, SyncPayload> syncData = new HashMap<>();
 
     public PktLoginSyncDataHolder() {}
 
@@ -43,9 +44,11 @@ public class PktLoginSyncDataHolder extends ASLoginPacket<PktLoginSyncDataHolder
         PktLoginSyncDataHolder pkt = new PktLoginSyncDataHolder();
         for (ResourceLocation key : SyncDataRegistry.getKnownKeys()) {
             SyncDataHolder.executeServer(key, AbstractData.class, data -> {
-                CompoundNBT nbt = new CompoundNBT();
-                data.writeAllDataToPacket(nbt);
-                pkt.syncData.put(key, nbt);
+                //Sent once the player is in a world and their interest is known.
+                if (data instanceof InterestManagedData && SyncDataHolder.isInterestManaged()) {
+                    return;
+                }
+                pkt.syncData.put(key, SyncPayload.writeAll(data));
             });
         }
         return pkt;
@@ -59,7 +62,7 @@ public class PktLoginSyncDataHolder extends ASLoginPacket<PktLoginSyncDataHolder
 
             for (ResourceLocation key : packet.syncData.keySet()) {
                 ByteBufUtils.writeResourceLocation(buffer, key);
-                ByteBufUtils.writeNBTTag(buffer, packet.syncData.get(key));
+                packet.syncData.get(key).write(buffer);
             }
         };
     }
@@ -73,8 +76,7 @@ public class PktLoginSyncDataHolder extends ASLoginPacket<PktLoginSyncDataHolder
 
             for (int i = 0; i < size; i++) {
                 ResourceLocation key = ByteBufUtils.readResourceLocation(buffer);
-                CompoundNBT tag = ByteBufUtils.readNBTTag(buffer);
-                pktData.syncData.put(key, tag);
+                pktData.syncData.put(key, SyncPayload.read(buffer));
             }
             return pktData;
         };
@@ -92,7 +94,7 @@ public class PktLoginSyncDataHolder extends ASLoginPacket<PktLoginSyncDataHolder
                         ClientDataReader reader = SyncDataHolder.getReader(key);
                         if (reader != null) {
                             SyncDataHolder.executeClient(key, ClientData.class, data -> {
-                                reader.readFromIncomingFullSync(data, packet.syncData.get(key));
+                                packet.syncData.get(key).readFullSync(reader, data);
                             });
                         }
                     }
@@ -8,7 +8,7 @@
 
 package hellfirepvp.astralsorcery.common.network.play.client;
 
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.base.ASPacket;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.TileCelestialGateway;
@@ -93,7 +93,7 @@ public class PktRevokeGatewayAccess extends ASPacket<PktRevokeGatewayAccess> {
                         if (removedPlayer != null) {
                             PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.GATEWAY_REVOKE_EFFECT)
                                     .addData(buffer -> ByteBufUtils.writePos(buffer, gateway.getPos()));
-                            PacketChannel.CHANNEL.sendToPlayer(sender, pkt);
+                            PlayEffectBatcher.sendToPlayer(sender, pkt);
 
                             ITextComponent accessGrantedMessage = new TranslationTextComponent(
                                     "astralsorcery.misc.link.gateway.unlink",
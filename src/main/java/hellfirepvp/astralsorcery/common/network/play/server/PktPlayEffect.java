@@ -21,7 +21,6 @@ import hellfirepvp.astralsorcery.common.tile.altar.TileAltar;
 import hellfirepvp.astralsorcery.common.util.CelestialStrike;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
 import hellfirepvp.astralsorcery.common.util.time.TimeStopEffectHelper;
-import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.api.distmarker.Dist;
@@ -30,6 +29,9 @@ import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.network.NetworkEvent;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -41,6 +43,9 @@ import java.util.function.Consumer;
  */
 public class PktPlayEffect extends ASPacket<PktPlayEffect> {
 
+    //Received effects not played yet, their data is released on disconnect if the client drops them instead.
+    private static final Set<PktPlayEffect> pendingEffects = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
     private Type type;
     private Consumer<PacketBuffer> encoder = (buf) -> {};
 
@@ -52,6 +57,13 @@ public class PktPlayEffect extends ASPacket<PktPlayEffect> {
         this.type = type;
     }
 
+    //A received effect, holding on to its data until it's played or released.
+    PktPlayEffect(Type type, PacketBuffer data) {
+        this.type = type;
+        this.data = data;
+        pendingEffects.add(this);
+    }
+
     public PktPlayEffect addData(Consumer<PacketBuffer> encoder) {
         this.encoder = this.encoder.andThen(encoder);
         return this;
@@ -61,6 +73,41 @@ public class PktPlayEffect extends ASPacket<PktPlayEffect> {
         return data;
     }
 
+    public Type getType() {
+        return type;
+    }
+
+    //The effect's data as it'd be written into this packet, without its type.
+    public byte[] encodeData() {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        this.encoder.accept(buf);
+        byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        buf.release();
+        return data;
+    }
+
+    //Releases the effect's data afterwards, it can't be read anymore once this returns.
+    @OnlyIn(Dist.CLIENT)
+    void playEffect() {
+        if (!pendingEffects.remove(this)) {
+            return;
+        }
+        try {
+            this.type.runEffect().accept(this);
+        } finally {
+            this.data.release();
+        }
+    }
+
+    //The client drops work enqueued by packets when disconnecting, the data of effects not played yet is released here.
+    public static void releasePendingEffects() {
+        synchronized (pendingEffects) {
+            pendingEffects.forEach(effect -> effect.data.release());
+            pendingEffects.clear();
+        }
+    }
+
     @Nonnull
     @Override
     public Encoder<PktPlayEffect> encoder() {
@@ -75,11 +122,8 @@ public class PktPlayEffect extends ASPacket<PktPlayEffect> {
     public Decoder<PktPlayEffect> decoder() {
         return buffer -> {
             Type type = ByteBufUtils.readEnumValue(buffer, Type.class);
-            PktPlayEffect pkt = new PktPlayEffect(type);
-            ByteBuf buf = Unpooled.buffer(buffer.readableBytes());
-            buffer.readBytes(buf);
-            pkt.data = new PacketBuffer(buf);
-            return pkt;
+            //Read from the received buffer directly, it's kept until the effect has been played on the client thread.
+            return new PktPlayEffect(type, new PacketBuffer(buffer.readRetainedSlice(buffer.readableBytes())));
         };
     }
 
@@ -90,7 +134,7 @@ public class PktPlayEffect extends ASPacket<PktPlayEffect> {
             @Override
             @OnlyIn(Dist.CLIENT)
             public void handleClient(PktPlayEffect packet, NetworkEvent.Context context) {
-                context.enqueueWork(() -> packet.type.runEffect().accept(packet));
+                context.enqueueWork(packet::playEffect);
             }
 
             @Override
@@ -124,6 +168,24 @@ public class PktPlayEffect extends ASPacket<PktPlayEffect> {
         FOUNTAIN_REPLACE_EFFECT,
         ;
 
+        //If the effect only depends on the position it's sent at, several of them at the same position in a tick only need to be played once.
+        public boolean isCoalescedByPosition() {
+            switch (this) {
+                case BEAM_BREAK:
+                case BLOCK_EFFECT:
+                case BLOCK_EFFECT_TUMBLE:
+                case SMALL_CRYSTAL_BREAK:
+                case GEM_CRYSTAL_BREAK:
+                case CROP_GROWTH:
+                case MELT_BLOCK:
+                case BLOCK_TRANSMUTATION_TICK:
+                case LIQUID_FOUNTAIN:
+                case FOUNTAIN_REPLACE_EFFECT:
+                    return true;
+            }
+            return false;
+        }
+
         @OnlyIn(Dist.CLIENT)
         private Consumer<PktPlayEffect> runEffect() {
             switch (this) {
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.network.play.server;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.network.base.ASPacket;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.Tuple;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PktPlayEffectBundle
+ * Created by agent
+ * Date: 18.10.2026 / 05:38
+ */
+//All effects a player receives in a tick, played in order like separate PktPlayEffect packets.
+public class PktPlayEffectBundle extends ASPacket<PktPlayEffectBundle> {
+
+    private List<Tuple<PktPlayEffect.Type, byte[]>> effects = new ArrayList<>();
+    //The received effects, their data is read from the received buffer directly.
+    private final List<PktPlayEffect> receivedEffects = new ArrayList<>();
+
+    public PktPlayEffectBundle() {}
+
+    public PktPlayEffectBundle(List<Tuple<PktPlayEffect.Type, byte[]>> effects) {
+        this.effects = effects;
+    }
+
+    @Nonnull
+    @Override
+    public Encoder<PktPlayEffectBundle> encoder() {
+        return (packet, buffer) -> {
+            buffer.writeVarInt(packet.effects.size());
+            for (Tuple<PktPlayEffect.Type, byte[]> effect : packet.effects) {
+                ByteBufUtils.writeEnumValue(buffer, effect.getA());
+                buffer.writeByteArray(effect.getB());
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Decoder<PktPlayEffectBundle> decoder() {
+        return buffer -> {
+            PktPlayEffectBundle pkt = new PktPlayEffectBundle();
+            int size = buffer.readVarInt();
+            for (int i = 0; i < size; i++) {
+                PktPlayEffect.Type type = ByteBufUtils.readEnumValue(buffer, PktPlayEffect.Type.class);
+                int length = buffer.readVarInt();
+                pkt.receivedEffects.add(new PktPlayEffect(type, new PacketBuffer(buffer.readRetainedSlice(length))));
+            }
+            return pkt;
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Handler<PktPlayEffectBundle> handler() {
+        return new Handler<PktPlayEffectBundle>() {
+            @Override
+            @OnlyIn(Dist.CLIENT)
+            public void handleClient(PktPlayEffectBundle packet, NetworkEvent.Context context) {
+                context.enqueueWork(() -> {
+                    //Every effect is played on its own, so one failing doesn't keep the data of the others from being released.
+                    for (PktPlayEffect effect : packet.receivedEffects) {
+                        try {
+                            effect.playEffect();
+                        } catch (Exception exc) {
+                            AstralSorcery.log.warn("Failed to play effect " + effect.getType() + " of an effect bundle!", exc);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void handle(PktPlayEffectBundle packet, NetworkEvent.Context context, LogicalSide side) {}
+        };
+    }
+}
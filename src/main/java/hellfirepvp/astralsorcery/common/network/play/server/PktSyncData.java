@@ -11,9 +11,10 @@ package hellfirepvp.astralsorcery.common.network.play.server;
 import hellfirepvp.astralsorcery.common.data.sync.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientData;
 import hellfirepvp.astralsorcery.common.data.sync.base.ClientDataReader;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncInterest;
+import hellfirepvp.astralsorcery.common.data.sync.base.SyncPayload;
 import hellfirepvp.astralsorcery.common.network.base.ASPacket;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
-import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -21,6 +22,7 @@ import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.network.NetworkEvent;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,14 +35,22 @@ import java.util.Map;
  */
 public class PktSyncData extends ASPacket<PktSyncData> {
 
-    private Map<ResourceLocation, CompoundNBT> diffData = new HashMap<>();
+    private Map<ResourceLocation, SyncPayload> diffData = new HashMap<>();
+    //If set, the data is a snapshot catching the player up to their new interest.
+    @Nullable
+    private SyncInterest snapshotInterest = null;
 
     public PktSyncData() {}
 
-    public PktSyncData(Map<ResourceLocation, CompoundNBT> dataToSend) {
+    public PktSyncData(Map<ResourceLocation, SyncPayload> dataToSend) {
         this.diffData = dataToSend;
     }
 
+    public PktSyncData(Map<ResourceLocation, SyncPayload> snapshotData, SyncInterest interest) {
+        this.diffData = snapshotData;
+        this.snapshotInterest = interest;
+    }
+
     @Nonnull
     @Override
     public Encoder<PktSyncData> encoder() {
@@ -49,8 +59,9 @@ public class PktSyncData extends ASPacket<PktSyncData> {
 
             for (ResourceLocation key : packet.diffData.keySet()) {
                 ByteBufUtils.writeResourceLocation(buffer, key);
-                ByteBufUtils.writeNBTTag(buffer, packet.diffData.get(key));
+                packet.diffData.get(key).write(buffer);
             }
+            ByteBufUtils.writeOptional(buffer, packet.snapshotInterest, (buf, interest) -> interest.write(buf));
         };
     }
 
@@ -63,9 +74,9 @@ public class PktSyncData extends ASPacket<PktSyncData> {
 
             for (int i = 0; i < size; i++) {
                 ResourceLocation key = ByteBufUtils.readResourceLocation(buffer);
-                CompoundNBT tag = ByteBufUtils.readNBTTag(buffer);
-                pktData.diffData.put(key, tag);
+                pktData.diffData.put(key, SyncPayload.read(buffer));
             }
+            pktData.snapshotInterest = ByteBufUtils.readOptional(buffer, SyncInterest::read);
             return pktData;
         };
     }
@@ -81,8 +92,13 @@ public class PktSyncData extends ASPacket<PktSyncData> {
                     for (ResourceLocation key : packet.diffData.keySet()) {
                         ClientDataReader reader = SyncDataHolder.getReader(key);
                         if (reader != null) {
-                            SyncDataHolder.executeClient(key, ClientData.class,
-                                    data -> reader.readFromIncomingDiff(data, packet.diffData.get(key)));
+                            SyncDataHolder.executeClient(key, ClientData.class, data -> {
+                                if (packet.snapshotInterest != null) {
+                                    packet.diffData.get(key).readSnapshot(reader, data, packet.snapshotInterest);
+                                } else {
+                                    packet.diffData.get(key).readDiff(reader, data);
+                                }
+                            });
                         }
                     }
                 });
@@ -19,7 +19,7 @@ import hellfirepvp.astralsorcery.common.data.research.ResearchHelper;
 import hellfirepvp.astralsorcery.common.event.EventFlags;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
 import hellfirepvp.astralsorcery.common.lib.PerkAttributeTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.perk.PerkAttributeHelper;
 import hellfirepvp.astralsorcery.common.perk.node.KeyPerk;
@@ -34,13 +34,13 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.LogicalSide;
-import net.minecraftforge.fml.network.PacketDistributor;
 
 import java.util.List;
 
@@ -178,19 +178,19 @@ public class KeyLightningArc extends KeyPerk {
                     if (last != null) {
                         Vector3 from = Vector3.atEntityCenter(entity);
                         Vector3 to = Vector3.atEntityCenter(last);
-                        PacketDistributor.TargetPoint target = PacketChannel.pointFromPos(world, entity.getPosition(), 16);
-                        PacketChannel.CHANNEL.sendToAllAround(new PktPlayEffect(PktPlayEffect.Type.LIGHTNING)
+                        BlockPos target = entity.getPosition();
+                        PlayEffectBatcher.sendToAllAround(new PktPlayEffect(PktPlayEffect.Type.LIGHTNING)
                                 .addData(buf -> {
                                     ByteBufUtils.writeVector(buf, from);
                                     ByteBufUtils.writeVector(buf, to);
                                     buf.writeInt(ColorsAS.EFFECT_LIGHTNING.getRGB());
-                                }), target);
-                        PacketChannel.CHANNEL.sendToAllAround(new PktPlayEffect(PktPlayEffect.Type.LIGHTNING)
+                                }), world, target, 16);
+                        PlayEffectBatcher.sendToAllAround(new PktPlayEffect(PktPlayEffect.Type.LIGHTNING)
                                 .addData(buf -> {
                                     ByteBufUtils.writeVector(buf, to);
                                     ByteBufUtils.writeVector(buf, from);
                                     buf.writeInt(ColorsAS.EFFECT_LIGHTNING.getRGB());
-                                }), target);
+                                }), world, target, 16);
                     }
                     List<LivingEntity> entities = entity.getEntityWorld().getEntitiesWithinAABB(LivingEntity.class, box.offset(entity.getPositionVec()), EntityUtils.selectEntities(LivingEntity.class));
                     entities.remove(entity);
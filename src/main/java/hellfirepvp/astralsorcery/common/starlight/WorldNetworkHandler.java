@@ -11,16 +11,17 @@ package hellfirepvp.astralsorcery.common.starlight;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.world.LightNetworkBuffer;
 import hellfirepvp.astralsorcery.common.lib.DataAS;
+import hellfirepvp.astralsorcery.common.starlight.network.NetworkTelemetry;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionWorldHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
 import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionSource;
 import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import hellfirepvp.astralsorcery.common.util.world.IWorldView;
 import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.math.vector.Vector3i;
 import net.minecraft.world.World;
 
@@ -38,94 +39,108 @@ import java.util.List;
  */
 public class WorldNetworkHandler {
 
+    private static final int AUTO_LINK_RADIUS = 16;
+
     private final LightNetworkBuffer buffer;
     private final World world;
+    private final IWorldView worldView;
 
     public WorldNetworkHandler(LightNetworkBuffer lightNetworkBuffer, World world) {
         this.buffer = lightNetworkBuffer;
         this.world = world;
+        this.worldView = IWorldView.of(world);
     }
 
     public World getWorld() {
         return world;
     }
 
+    public IWorldView getWorldView() {
+        return worldView;
+    }
+
     public static WorldNetworkHandler getNetworkHandler(World world) {
         return DataAS.DOMAIN_AS.getData(world, DataAS.KEY_STARLIGHT_NETWORK).getNetworkHandler(world);
     }
 
     public void informBlockChange(BlockPos at) {
-        List<LightNetworkBuffer.ChunkSectionNetworkData> relatedData = getAffectedChunkSections(at);
-        if (relatedData.isEmpty()) return; //lucky. nothing to do.
+        long start = System.nanoTime();
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(getWorld());
+        if (handle != null) {
+            handle.informBlockChange(at);
+        }
 
-        for (LightNetworkBuffer.ChunkSectionNetworkData data : relatedData) {
-            if (data == null) continue;
-            Collection<IPrismTransmissionNode> transmissionNodes = data.getAllTransmissionNodes();
-            for (IPrismTransmissionNode node : transmissionNodes) {
-                if (node.notifyBlockChange(getWorld(), at)) {
-                    if (handle != null) {
-                        handle.notifyTransmissionNodeChange(node);
-                    }
+        Collection<IPrismTransmissionNode> crossingNodes = buffer.getBeamSegmentIndex(this).getNodesCrossing(at);
+        if (crossingNodes.isEmpty()) { //lucky. nothing to do.
+            NetworkTelemetry.recordBlockChange(at, System.nanoTime() - start, 0, 0);
+            return;
+        }
+
+        int notifications = 0;
+        for (IPrismTransmissionNode node : crossingNodes) {
+            if (node.notifyBlockChange(getWorld(), at)) {
+                notifications++;
+                if (handle != null) {
+                    handle.notifyTransmissionNodeChange(node);
                 }
             }
         }
+        NetworkTelemetry.recordBlockChange(at, System.nanoTime() - start, crossingNodes.size(), notifications);
+    }
+
+    //Needs to be called whenever a node's set of links changes, so block changes along the new links get noticed.
+    public void updateBeamSegments(IPrismTransmissionNode node) {
+        buffer.getBeamSegmentIndex(this).updateNode(this, node);
     }
 
     public void attemptAutoLinkTo(BlockPos at) {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
-        for (Tuple<BlockPos, IIndependentStarlightSource> source : getAllSources()) {
-            if (!source.getB().providesAutoLink()) continue;
-
-            if (source.getA().distanceSq(Vector3d.copy(at), false) <= 256) {
-                IPrismTransmissionNode node = getTransmissionNode(source.getA());
-                if (node == null) {
-                    AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
-                    continue;
-                }
-                if (!(node instanceof ITransmissionSource)) {
-                    AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
-                    continue;
-                }
-                ITransmissionSource sourceNode = (ITransmissionSource) node;
-                if (sourceNode.getLocationPos().getY() <= at.getY()) continue;
-                sourceNode.notifyLink(getWorld(), at);
+        for (Tuple<BlockPos, IIndependentStarlightSource> source : buffer.getAutoLinkSourcesNear(at, AUTO_LINK_RADIUS)) {
+            IPrismTransmissionNode node = getTransmissionNode(source.getA());
+            if (node == null) {
+                AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
+                AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
+                continue;
+            }
+            if (!(node instanceof ITransmissionSource)) {
+                AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
+                AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
+                continue;
+            }
+            ITransmissionSource sourceNode = (ITransmissionSource) node;
+            if (sourceNode.getLocationPos().getY() <= at.getY()) continue;
+            sourceNode.notifyLink(getWorld(), at);
+            updateBeamSegments(sourceNode);
 
-                markDirty(at, source.getA());
+            markDirty(at, source.getA());
 
-                if (handle != null) {
-                    handle.notifyTransmissionNodeChange(sourceNode);
-                }
+            if (handle != null) {
+                handle.notifyTransmissionNodeChange(sourceNode);
             }
         }
     }
 
     public void removeAutoLinkTo(BlockPos at) {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
-        for (Tuple<BlockPos, IIndependentStarlightSource> source : getAllSources()) {
-            if (!source.getB().providesAutoLink()) continue;
-
-            if (source.getA().distanceSq(Vector3d.copy(at), false) <= 256) {
-                IPrismTransmissionNode node = getTransmissionNode(source.getA());
-                if (node == null) {
-                    AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
-                    continue;
-                }
-                if (!(node instanceof ITransmissionSource)) {
-                    AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
-                    continue;
-                }
-                ITransmissionSource sourceNode = (ITransmissionSource) node;
-                if (sourceNode.notifyUnlink(getWorld(), at)) {
-                    markDirty(at, source.getA());
+        for (Tuple<BlockPos, IIndependentStarlightSource> source : buffer.getAutoLinkSourcesNear(at, AUTO_LINK_RADIUS)) {
+            IPrismTransmissionNode node = getTransmissionNode(source.getA());
+            if (node == null) {
+                AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
+                AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
+                continue;
+            }
+            if (!(node instanceof ITransmissionSource)) {
+                AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
+                AstralSorcery.log.warn("Details: Dim=" + getWorld().getDimensionKey().getLocation() + " at " + source.getA());
+                continue;
+            }
+            ITransmissionSource sourceNode = (ITransmissionSource) node;
+            if (sourceNode.notifyUnlink(getWorld(), at)) {
+                updateBeamSegments(sourceNode);
+                markDirty(at, source.getA());
 
-                    if (handle != null) {
-                        handle.notifyTransmissionNodeChange(sourceNode);
-                    }
+                if (handle != null) {
+                    handle.notifyTransmissionNodeChange(sourceNode);
                 }
             }
         }
@@ -134,11 +149,7 @@ public class WorldNetworkHandler {
     @Nullable
     public IPrismTransmissionNode getTransmissionNode(@Nullable BlockPos pos) {
         if (pos == null) return null;
-        LightNetworkBuffer.ChunkSectionNetworkData section = getNetworkData(pos);
-        if (section != null) {
-            return section.getTransmissionNode(pos);
-        }
-        return null;
+        return buffer.getTransmissionNode(pos);
     }
 
     public void markDirty(Vector3i... positions) {
@@ -152,7 +163,7 @@ public class WorldNetworkHandler {
         return buffer.getSource(pos);
     }
 
-    public Collection<Tuple<BlockPos, IIndependentStarlightSource>> getAllSources() {
+    public List<Tuple<BlockPos, IIndependentStarlightSource>> getAllSources() {
         return buffer.getAllSources();
     }
 
@@ -172,16 +183,25 @@ public class WorldNetworkHandler {
 
     public void addNewSourceTile(IStarlightSource<?> source) {
         buffer.addSource(source, source.getTrPos());
+        updateBeamSegments(source.getTrPos());
 
         linkNextToThisSources(source);
     }
 
     public void addTransmissionTile(IStarlightTransmission<?> transmission) {
         buffer.addTransmission(transmission, transmission.getTrPos());
+        updateBeamSegments(transmission.getTrPos());
 
         linkNextToThisSources(transmission);
     }
 
+    private void updateBeamSegments(BlockPos at) {
+        IPrismTransmissionNode node = getTransmissionNode(at);
+        if (node != null) {
+            updateBeamSegments(node);
+        }
+    }
+
     //For all sources of this "tr" inform the transmission system that the connection might've changed.
     private void removeThisNextFromSources(IStarlightTransmission<?> tr) {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(getWorld());
@@ -280,11 +300,4 @@ public class WorldNetworkHandler {
         LightNetworkBuffer.ChunkSectionNetworkData data = buffer.getSectionData(pos);
         if (data != null && !data.isEmpty()) out.add(data);
     }
-
-    @Nullable
-    private LightNetworkBuffer.ChunkSectionNetworkData getNetworkData(BlockPos at) {
-        LightNetworkBuffer.ChunkSectionNetworkData data = buffer.getSectionData(at);
-        if (data != null && !data.isEmpty()) return data;
-        return null;
-    }
 }
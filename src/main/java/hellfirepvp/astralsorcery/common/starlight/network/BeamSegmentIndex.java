@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BeamSegmentIndex
+ * Created by agent
+ * Date: 18.10.2026 / 05:02
+ */
+//Maps chunk sections to the starlight beams crossing them, so a block change only needs to look at
+//the links that actually pass through the changed block instead of every node in the surrounding 27 sections.
+public class BeamSegmentIndex {
+
+    private static final double EPSILON = 1.0E-6;
+
+    private final Long2ObjectMap<List<BeamSegment>> sectionSegments = new Long2ObjectOpenHashMap<>();
+    private final Map<BlockPos, List<BeamSegment>> nodeSegments = new HashMap<>();
+    private boolean built = false;
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    public void markBuilt() {
+        this.built = true;
+    }
+
+    public void invalidate() {
+        this.sectionSegments.clear();
+        this.nodeSegments.clear();
+        this.built = false;
+    }
+
+    //(Re-)Indexes all outgoing links of the given node.
+    public void updateNode(WorldNetworkHandler handler, IPrismTransmissionNode node) {
+        BlockPos from = node.getLocationPos();
+        removeNode(from);
+
+        List<BeamSegment> segments = new ArrayList<>();
+        for (NodeConnection<IPrismTransmissionNode> connection : node.queryNext(handler)) {
+            BeamSegment segment = new BeamSegment(node, from, connection.getTo());
+            segment.insert(this.sectionSegments);
+            segments.add(segment);
+        }
+        if (!segments.isEmpty()) {
+            this.nodeSegments.put(from, segments);
+        }
+    }
+
+    public void removeNode(BlockPos at) {
+        List<BeamSegment> segments = this.nodeSegments.remove(at);
+        if (segments != null) {
+            for (BeamSegment segment : segments) {
+                segment.remove(this.sectionSegments);
+            }
+        }
+    }
+
+    //Collects all nodes that have at least one link passing through the block at the given position.
+    public Collection<IPrismTransmissionNode> getNodesCrossing(BlockPos at) {
+        List<BeamSegment> segments = this.sectionSegments.get(sectionKey(at.getX() >> 4, at.getY() >> 4, at.getZ() >> 4));
+        if (segments == null) {
+            return Collections.emptyList();
+        }
+        Set<IPrismTransmissionNode> nodes = new LinkedHashSet<>();
+        for (BeamSegment segment : segments) {
+            if (segment.intersects(at.getX(), at.getY(), at.getZ(), at.getX() + 1, at.getY() + 1, at.getZ() + 1)) {
+                nodes.add(segment.node);
+            }
+        }
+        return nodes;
+    }
+
+    private static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) sectionX & 0x3FFFFFL) << 42 | ((long) sectionY & 0xFFFFFL) << 22 | ((long) sectionZ & 0x3FFFFFL);
+    }
+
+    private static class BeamSegment {
+
+        private final IPrismTransmissionNode node;
+        //Beams run from block center to block center, same as the RaytraceAssist checking them.
+        private final double startX, startY, startZ;
+        private final double dirX, dirY, dirZ;
+        private final long[] sections;
+
+        private BeamSegment(IPrismTransmissionNode node, BlockPos from, BlockPos to) {
+            this.node = node;
+            this.startX = from.getX() + 0.5;
+            this.startY = from.getY() + 0.5;
+            this.startZ = from.getZ() + 0.5;
+            this.dirX = to.getX() - from.getX();
+            this.dirY = to.getY() - from.getY();
+            this.dirZ = to.getZ() - from.getZ();
+
+            int minX = Math.min(from.getX(), to.getX()) >> 4, maxX = Math.max(from.getX(), to.getX()) >> 4;
+            int minY = Math.min(from.getY(), to.getY()) >> 4, maxY = Math.max(from.getY(), to.getY()) >> 4;
+            int minZ = Math.min(from.getZ(), to.getZ()) >> 4, maxZ = Math.max(from.getZ(), to.getZ()) >> 4;
+            long[] crossed = new long[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+            int count = 0;
+            for (int xx = minX; xx <= maxX; xx++) {
+                for (int yy = minY; yy <= maxY; yy++) {
+                    for (int zz = minZ; zz <= maxZ; zz++) {
+                        if (intersects(xx << 4, yy << 4, zz << 4, (xx + 1) << 4, (yy + 1) << 4, (zz + 1) << 4)) {
+                            crossed[count] = sectionKey(xx, yy, zz);
+                            count++;
+                        }
+                    }
+                }
+            }
+            this.sections = Arrays.copyOf(crossed, count);
+        }
+
+        private void insert(Long2ObjectMap<List<BeamSegment>> sectionSegments) {
+            for (long section : this.sections) {
+                List<BeamSegment> segments = sectionSegments.get(section);
+                if (segments == null) {
+                    segments = new ArrayList<>(2);
+                    sectionSegments.put(section, segments);
+                }
+                segments.add(this);
+            }
+        }
+
+        private void remove(Long2ObjectMap<List<BeamSegment>> sectionSegments) {
+            for (long section : this.sections) {
+                List<BeamSegment> segments = sectionSegments.get(section);
+                if (segments != null) {
+                    segments.remove(this);
+                    if (segments.isEmpty()) {
+                        sectionSegments.remove(section);
+                    }
+                }
+            }
+        }
+
+        //Slab test of the segment against the given box, slightly grown to also catch beams grazing an edge.
+        private boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            double tMin = 0;
+            double tMax = 1;
+
+            if (dirX == 0) {
+                if (startX < minX - EPSILON || startX > maxX + EPSILON) return false;
+            } else {
+                double t1 = (minX - EPSILON - startX) / dirX;
+                double t2 = (maxX + EPSILON - startX) / dirX;
+                tMin = Math.max(tMin, Math.min(t1, t2));
+                tMax = Math.min(tMax, Math.max(t1, t2));
+            }
+            if (dirY == 0) {
+                if (startY < minY - EPSILON || startY > maxY + EPSILON) return false;
+            } else {
+                double t1 = (minY - EPSILON - startY) / dirY;
+                double t2 = (maxY + EPSILON - startY) / dirY;
+                tMin = Math.max(tMin, Math.min(t1, t2));
+                tMax = Math.min(tMax, Math.max(t1, t2));
+            }
+            if (dirZ == 0) {
+                if (startZ < minZ - EPSILON || startZ > maxZ + EPSILON) return false;
+            } else {
+                double t1 = (minZ - EPSILON - startZ) / dirZ;
+                double t2 = (maxZ + EPSILON - startZ) / dirZ;
+                tMin = Math.max(tMin, Math.min(t1, t2));
+                tMax = Math.min(tMax, Math.max(t1, t2));
+            }
+            return tMin <= tMax;
+        }
+    }
+}
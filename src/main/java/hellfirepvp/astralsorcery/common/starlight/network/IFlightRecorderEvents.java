@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: IFlightRecorderEvents
+ * Created by agent
+ * Date: 18.10.2026 / 05:50
+ */
+//The flight recorder events NetworkTelemetry emits, implemented by NetworkTelemetryEvents in the jfr source set.
+public interface IFlightRecorderEvents {
+
+    public void chainBuild(int x, int y, int z, long nanos, int nodes, int endpoints);
+
+    public void networkTick(String dimension, long nanos, int sources, int distributed);
+
+    public void blockChange(int x, int y, int z, long nanos, int crossingNodes, int notifications);
+
+    public void nodeUpdateTick(String dimension, long nanos, int nodes);
+
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.crystal.CrystalAttributes;
+import hellfirepvp.astralsorcery.common.crystal.CrystalCalculations;
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
+import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: NetworkSnapshot
+ * Created by agent
+ * Date: 18.10.2026 / 05:06
+ */
+//Immutable copy of the part of the node graph reachable from one node.
+//Captured on the server thread, afterwards it can be walked from any thread.
+public class NetworkSnapshot {
+
+    private final BlockPos root;
+    private final Map<BlockPos, SnapshotNode> nodes;
+
+    @Nullable
+    private final SubgraphMemo memo;
+    private final int epoch;
+
+    private NetworkSnapshot(BlockPos root, Map<BlockPos, SnapshotNode> nodes, @Nullable SubgraphMemo memo) {
+        this.root = root;
+        this.nodes = nodes;
+        this.memo = memo;
+        this.epoch = memo != null ? memo.getEpoch() : 0;
+    }
+
+    //Visits every node reachable from the given position once, so this stays linear in the size of the graph
+    //while walking all paths through it is left to the chain builder.
+    public static NetworkSnapshot capture(WorldNetworkHandler handler, BlockPos root) {
+        return capture(handler, root, null);
+    }
+
+    //Nodes already captured in the memo's current epoch are reused, and the chain built from this snapshot
+    //shares walks through them with the other chains of that epoch.
+    static NetworkSnapshot capture(WorldNetworkHandler handler, BlockPos root, @Nullable SubgraphMemo memo) {
+        return capture(handler, handler.getTransmissionNode(root), root, memo);
+    }
+
+    static NetworkSnapshot capture(WorldNetworkHandler handler, @Nullable IPrismTransmissionNode rootNode, BlockPos root, @Nullable SubgraphMemo memo) {
+        Map<BlockPos, SnapshotNode> nodes = new HashMap<>();
+        if (rootNode == null || rootNode instanceof ITransmissionReceiver) {
+            return new NetworkSnapshot(root, nodes, memo);
+        }
+
+        Deque<IPrismTransmissionNode> toCapture = new ArrayDeque<>();
+        toCapture.add(rootNode);
+        nodes.put(rootNode.getLocationPos(), null);
+        while (!toCapture.isEmpty()) {
+            IPrismTransmissionNode node = toCapture.poll();
+            SnapshotNode snapshot = memo != null ? memo.captureNode(node, handler) : new SnapshotNode(node, node.queryNext(handler));
+            nodes.put(snapshot.pos, snapshot);
+
+            for (SnapshotLink link : snapshot.next) {
+                if (link.canConnect && link.node != null && !link.receiver && !nodes.containsKey(link.nodePos)) {
+                    nodes.put(link.nodePos, null);
+                    toCapture.add(link.node);
+                }
+            }
+        }
+        return new NetworkSnapshot(root, nodes, memo);
+    }
+
+    public BlockPos getRootPos() {
+        return root;
+    }
+
+    @Nullable
+    public SnapshotNode getRoot() {
+        return nodes.get(root);
+    }
+
+    @Nullable
+    public SnapshotNode getNode(BlockPos pos) {
+        return nodes.get(pos);
+    }
+
+    public boolean contains(BlockPos pos) {
+        return nodes.containsKey(pos);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    @Nullable
+    SubgraphMemo getMemo() {
+        return memo;
+    }
+
+    int getEpoch() {
+        return epoch;
+    }
+
+    public static class SnapshotNode {
+
+        final IPrismTransmissionNode node;
+        final BlockPos pos;
+        final float crystalThroughputMultiplier;
+        final float crystalThroughputEffectMultiplier;
+        final float throughputMultiplier;
+        final float consumptionMultiplier;
+        final boolean needsTransmissionUpdate;
+        final int linkedSources;
+        final List<SnapshotLink> next;
+
+        SnapshotNode(IPrismTransmissionNode node, List<NodeConnection<IPrismTransmissionNode>> connections) {
+            CrystalAttributes lensProperties = node.getTransmissionProperties();
+            this.node = node;
+            this.pos = node.getLocationPos();
+            this.crystalThroughputMultiplier = CrystalCalculations.getThroughputMultiplier(lensProperties);
+            this.crystalThroughputEffectMultiplier = CrystalCalculations.getThroughputEffectMultiplier(lensProperties);
+            this.throughputMultiplier = node.getTransmissionThroughputMultiplier();
+            this.consumptionMultiplier = node.getTransmissionConsumptionMultiplier();
+            this.needsTransmissionUpdate = node.needsTransmissionUpdate();
+            this.linkedSources = node.getSources().size();
+
+            List<SnapshotLink> next = new ArrayList<>(connections.size());
+            for (NodeConnection<IPrismTransmissionNode> connection : connections) {
+                next.add(new SnapshotLink(connection));
+            }
+            this.next = Collections.unmodifiableList(next);
+        }
+    }
+
+    public static class SnapshotLink {
+
+        final BlockPos to;
+        final boolean canConnect;
+        @Nullable
+        final IPrismTransmissionNode node;
+        @Nullable
+        final BlockPos nodePos;
+        final boolean receiver;
+
+        private SnapshotLink(NodeConnection<IPrismTransmissionNode> connection) {
+            this.to = connection.getTo();
+            this.canConnect = connection.canConnect();
+            this.node = connection.getNode();
+            this.nodePos = this.node != null ? this.node.getLocationPos() : null;
+            this.receiver = this.node instanceof ITransmissionReceiver;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: NetworkTelemetry
+ * Created by agent
+ * Date: 18.10.2026 / 05:18
+ */
+//Counters and timers of the starlight network since the last reset.
+//Chain builds are recorded from the builder threads, everything else only from the server thread.
+public class NetworkTelemetry {
+
+    private static final String JFR_EVENTS_CLASS = "hellfirepvp.astralsorcery.common.starlight.network.NetworkTelemetryEvents";
+
+    @Nullable
+    private static final IFlightRecorderEvents JFR_EVENTS = loadJfrEvents();
+
+    private static long resetMillis = System.currentTimeMillis();
+
+    private static final LongAdder chainBuilds = new LongAdder();
+    private static final LongAdder chainBuildNanos = new LongAdder();
+    private static final LongAdder chainBuildNodes = new LongAdder();
+    private static final LongAccumulator chainBuildMaxNodes = new LongAccumulator(Math::max, 0);
+    private static final LongAdder chainBuildEndpoints = new LongAdder();
+
+    private static long networkTicks = 0;
+    private static long networkTickNanos = 0;
+    private static long networkTickMaxNanos = 0;
+    private static long sourcesDistributed = 0;
+    private static long distributionNanos = 0;
+    //Accumulated distribution time per source, keyed by BlockPos.toLong. Removed sources stay until the next reset.
+    private static final Map<RegistryKey<World>, Long2LongOpenHashMap> sourceNanos = new HashMap<>();
+
+    private static long blockChanges = 0;
+    private static long blockChangeNanos = 0;
+    private static long blockChangeCrossingNodes = 0;
+    private static long blockChangeNotifications = 0;
+
+    private static long nodeUpdateTicks = 0;
+    private static long nodeUpdateNanos = 0;
+    private static long nodesUpdated = 0;
+
+    private NetworkTelemetry() {}
+
+    //The events are compiled separately against a runtime that has jdk.jfr, see build.gradle.
+    @Nullable
+    private static IFlightRecorderEvents loadJfrEvents() {
+        ClassLoader loader = NetworkTelemetry.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+            return (IFlightRecorderEvents) Class.forName(JFR_EVENTS_CLASS, true, loader).newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException exc) {
+            return null;
+        }
+    }
+
+    public static boolean isJfrAvailable() {
+        return JFR_EVENTS != null;
+    }
+
+    static void recordChainBuild(BlockPos sourcePos, long nanos, int nodes, int endpoints) {
+        chainBuilds.increment();
+        chainBuildNanos.add(nanos);
+        chainBuildNodes.add(nodes);
+        chainBuildMaxNodes.accumulate(nodes);
+        chainBuildEndpoints.add(endpoints);
+        if (JFR_EVENTS != null) {
+            JFR_EVENTS.chainBuild(sourcePos.getX(), sourcePos.getY(), sourcePos.getZ(), nanos, nodes, endpoints);
+        }
+    }
+
+    static void recordSourceDistribution(RegistryKey<World> dim, BlockPos sourcePos, long nanos) {
+        sourcesDistributed++;
+        distributionNanos += nanos;
+        sourceNanos.computeIfAbsent(dim, key -> new Long2LongOpenHashMap()).addTo(sourcePos.toLong(), nanos);
+    }
+
+    static void recordNetworkTick(RegistryKey<World> dim, long nanos, int sources, int distributed) {
+        networkTicks++;
+        networkTickNanos += nanos;
+        networkTickMaxNanos = Math.max(networkTickMaxNanos, nanos);
+        if (JFR_EVENTS != null) {
+            JFR_EVENTS.networkTick(dim.getLocation().toString(), nanos, sources, distributed);
+        }
+    }
+
+    public static void recordBlockChange(BlockPos pos, long nanos, int crossingNodes, int notifications) {
+        blockChanges++;
+        blockChangeNanos += nanos;
+        blockChangeCrossingNodes += crossingNodes;
+        blockChangeNotifications += notifications;
+        if (JFR_EVENTS != null && crossingNodes > 0) {
+            JFR_EVENTS.blockChange(pos.getX(), pos.getY(), pos.getZ(), nanos, crossingNodes, notifications);
+        }
+    }
+
+    static void recordNodeUpdateTick(RegistryKey<World> dim, long nanos, int nodes) {
+        nodeUpdateTicks++;
+        nodeUpdateNanos += nanos;
+        nodesUpdated += nodes;
+        if (JFR_EVENTS != null && nodes > 0) {
+            JFR_EVENTS.nodeUpdateTick(dim.getLocation().toString(), nanos, nodes);
+        }
+    }
+
+    public static void reset() {
+        resetMillis = System.currentTimeMillis();
+        chainBuilds.reset();
+        chainBuildNanos.reset();
+        chainBuildNodes.reset();
+        chainBuildMaxNodes.reset();
+        chainBuildEndpoints.reset();
+        networkTicks = 0;
+        networkTickNanos = 0;
+        networkTickMaxNanos = 0;
+        sourcesDistributed = 0;
+        distributionNanos = 0;
+        sourceNanos.clear();
+        blockChanges = 0;
+        blockChangeNanos = 0;
+        blockChangeCrossingNodes = 0;
+        blockChangeNotifications = 0;
+        nodeUpdateTicks = 0;
+        nodeUpdateNanos = 0;
+        nodesUpdated = 0;
+    }
+
+    public static List<String> summarize(int topSources) {
+        List<String> lines = new ArrayList<>();
+        double minutes = Math.max(System.currentTimeMillis() - resetMillis, 1) / 60_000D;
+        long builds = chainBuilds.sum();
+
+        lines.add(String.format("Recorded over %.1f minutes", minutes));
+        lines.add(String.format("Chain builds: %d (%.1f/min), avg %.3fms, avg %.1f nodes (max %d), avg %.1f endpoints",
+                builds, builds / minutes,
+                average(chainBuildNanos.sum(), builds) / 1_000_000D,
+                average(chainBuildNodes.sum(), builds), chainBuildMaxNodes.get(),
+                average(chainBuildEndpoints.sum(), builds)));
+        lines.add(String.format("Network ticks: %d, avg %.3fms, max %.3fms",
+                networkTicks, average(networkTickNanos, networkTicks) / 1_000_000D, networkTickMaxNanos / 1_000_000D));
+        lines.add(String.format("Sources distributed: %d, avg %.0fns per source",
+                sourcesDistributed, average(distributionNanos, sourcesDistributed)));
+        lines.add(String.format("Block changes: %d, avg %.0fns, avg %.2f crossing nodes, avg %.2f notifications",
+                blockChanges, average(blockChangeNanos, blockChanges),
+                average(blockChangeCrossingNodes, blockChanges), average(blockChangeNotifications, blockChanges)));
+        lines.add(String.format("Node updates: %d ticks, avg %.3fms, avg %.1f nodes per tick",
+                nodeUpdateTicks, average(nodeUpdateNanos, nodeUpdateTicks) / 1_000_000D, average(nodesUpdated, nodeUpdateTicks)));
+
+        List<SourceCost> costs = new ArrayList<>();
+        for (Map.Entry<RegistryKey<World>, Long2LongOpenHashMap> dimEntry : sourceNanos.entrySet()) {
+            for (Long2LongMap.Entry entry : Long2LongMaps.fastIterable(dimEntry.getValue())) {
+                costs.add(new SourceCost(dimEntry.getKey(), BlockPos.fromLong(entry.getLongKey()), entry.getLongValue()));
+            }
+        }
+        costs.sort(Comparator.comparingLong((SourceCost cost) -> cost.nanos).reversed());
+        for (int i = 0; i < Math.min(topSources, costs.size()); i++) {
+            SourceCost cost = costs.get(i);
+            lines.add(String.format("#%d: %s at %d, %d, %d - %.3fms total", i + 1,
+                    cost.dim.getLocation(), cost.pos.getX(), cost.pos.getY(), cost.pos.getZ(), cost.nanos / 1_000_000D));
+        }
+        return lines;
+    }
+
+    private static double average(long total, long count) {
+        return count == 0 ? 0 : ((double) total) / count;
+    }
+
+    private static class SourceCost {
+
+        private final RegistryKey<World> dim;
+        private final BlockPos pos;
+        private final long nanos;
+
+        private SourceCost(RegistryKey<World> dim, BlockPos pos, long nanos) {
+            this.dim = dim;
+            this.pos = pos;
+            this.nanos = nanos;
+        }
+    }
+}
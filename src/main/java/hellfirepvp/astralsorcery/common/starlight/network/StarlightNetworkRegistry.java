@@ -31,6 +31,8 @@ import java.util.Random;
 public class StarlightNetworkRegistry {
 
     private static final List<IStarlightBlockHandler> blockHandlers = new LinkedList<>();
+    //Bumped whenever handlers might decide differently for the same block, so resolved handlers get looked up again.
+    private static int handlerGeneration = 0;
 
     @Nullable
     public static IStarlightBlockHandler getStarlightHandler(World world, BlockPos pos, BlockState state, IWeakConstellation cst) {
@@ -48,6 +50,16 @@ public class StarlightNetworkRegistry {
 
     public static void registerBlockHandler(IStarlightBlockHandler handler) {
         blockHandlers.add(handler);
+        handlerGeneration++;
+    }
+
+    public static int getHandlerGeneration() {
+        return handlerGeneration;
+    }
+
+    //Called when data (recipes and such) the handlers depend on got reloaded.
+    public static void invalidateResolvedHandlers() {
+        handlerGeneration++;
     }
 
     public static void setupRegistry() {
@@ -10,12 +10,17 @@ package hellfirepvp.astralsorcery.common.starlight.network;
 
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
 import hellfirepvp.observerlib.common.util.tick.ITickHandler;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.AbstractChunkProvider;
 import net.minecraftforge.event.TickEvent;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -27,8 +32,7 @@ import java.util.*;
 public class StarlightUpdateHandler implements ITickHandler {
 
     private static final StarlightUpdateHandler instance = new StarlightUpdateHandler();
-    private static final Map<RegistryKey<World>, List<IPrismTransmissionNode>> updateRequired = new HashMap<>();
-    private static final Object accessLock = new Object();
+    private static final Map<RegistryKey<World>, DimensionNodes> updateRequired = new ConcurrentHashMap<>();
 
     private StarlightUpdateHandler() {}
 
@@ -43,40 +47,41 @@ public class StarlightUpdateHandler implements ITickHandler {
             return;
         }
 
-        List<IPrismTransmissionNode> nodes = getNodes(world);
-        synchronized (accessLock) {
-            for (IPrismTransmissionNode node : nodes) {
-                node.update(world);
+        long start = System.nanoTime();
+        DimensionNodes nodes = getNodes(world);
+        nodes.applySubmissions();
+
+        int updated = 0;
+        AbstractChunkProvider chunkProvider = world.getChunkProvider();
+        for (IPrismTransmissionNode node : nodes.nodes) {
+            BlockPos pos = node.getLocationPos();
+            if (!chunkProvider.chunkExists(pos.getX() >> 4, pos.getZ() >> 4)) {
+                continue;
             }
+            node.update(world);
+            updated++;
         }
+        NetworkTelemetry.recordNodeUpdateTick(world.getDimensionKey(), System.nanoTime() - start, updated);
     }
 
-    private List<IPrismTransmissionNode> getNodes(World world) {
-        return updateRequired.computeIfAbsent(world.getDimensionKey(), k -> new LinkedList<>());
+    private DimensionNodes getNodes(World world) {
+        return updateRequired.computeIfAbsent(world.getDimensionKey(), k -> new DimensionNodes());
     }
 
     public void removeNode(World world, IPrismTransmissionNode node) {
-        synchronized (accessLock) {
-            getNodes(world).remove(node);
-        }
+        getNodes(world).submissions.add(new Submission(node, false));
     }
 
     public void addNode(World world, IPrismTransmissionNode node) {
-        synchronized (accessLock) {
-            getNodes(world).add(node);
-        }
+        getNodes(world).submissions.add(new Submission(node, true));
     }
 
     public void informWorldLoad(World world) {
-        synchronized (accessLock) {
-            updateRequired.remove(world.getDimensionKey());
-        }
+        updateRequired.remove(world.getDimensionKey());
     }
 
     public void clearServer() {
-        synchronized (accessLock) {
-            updateRequired.clear();
-        }
+        updateRequired.clear();
     }
 
     @Override
@@ -94,4 +99,34 @@ public class StarlightUpdateHandler implements ITickHandler {
         return "Starlight Update Handler";
     }
 
+    //Only the world's own thread iterates and modifies the node set, everyone else submits changes
+    //that get applied in order at the start of the next tick.
+    private static class DimensionNodes {
+
+        private final Set<IPrismTransmissionNode> nodes = new ReferenceLinkedOpenHashSet<>();
+        private final Queue<Submission> submissions = new ConcurrentLinkedQueue<>();
+
+        private void applySubmissions() {
+            Submission submission;
+            while ((submission = submissions.poll()) != null) {
+                if (submission.add) {
+                    nodes.add(submission.node);
+                } else {
+                    nodes.remove(submission.node);
+                }
+            }
+        }
+    }
+
+    private static class Submission {
+
+        private final IPrismTransmissionNode node;
+        private final boolean add;
+
+        private Submission(IPrismTransmissionNode node, boolean add) {
+            this.node = node;
+            this.add = add;
+        }
+    }
+
 }
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SubgraphMemo
+ * Created by agent
+ * Date: 18.10.2026 / 05:26
+ */
+//The parts of a world's node graph that the chains of several sources have in common, shared until the network changes.
+//Any change to a node starts a new epoch, which drops everything captured or walked before it.
+class SubgraphMemo {
+
+    //Bigger walks are still used by the chain that walked them, but not kept for the others.
+    private static final int MAX_SHARED_WALK_STEPS = 16384;
+
+    private volatile int epoch = 0;
+
+    //Captured nodes, only accessed from the server thread.
+    private final Map<BlockPos, NetworkSnapshot.SnapshotNode> capturedNodes = new HashMap<>();
+    //Walks from a node with 1.0 starlight, filled from the builder threads.
+    private final Map<BlockPos, TransmissionChain.SharedWalk> walks = new ConcurrentHashMap<>();
+
+    int getEpoch() {
+        return epoch;
+    }
+
+    void invalidate() {
+        this.epoch++;
+        this.capturedNodes.clear();
+        this.walks.clear();
+    }
+
+    NetworkSnapshot.SnapshotNode captureNode(IPrismTransmissionNode node, WorldNetworkHandler handler) {
+        BlockPos pos = node.getLocationPos();
+        NetworkSnapshot.SnapshotNode captured = this.capturedNodes.get(pos);
+        if (captured == null || captured.node != node) {
+            captured = new NetworkSnapshot.SnapshotNode(node, node.queryNext(handler));
+            this.capturedNodes.put(pos, captured);
+        }
+        return captured;
+    }
+
+    @Nullable
+    TransmissionChain.SharedWalk getWalk(int epoch, BlockPos pos) {
+        TransmissionChain.SharedWalk walk = this.walks.get(pos);
+        return walk != null && walk.epoch == epoch ? walk : null;
+    }
+
+    //Walks of a past epoch may still arrive from builders started before the change, they're never returned though.
+    void putWalk(BlockPos pos, TransmissionChain.SharedWalk walk) {
+        if (walk.epoch == this.epoch && walk.size() <= MAX_SHARED_WALK_STEPS) {
+            this.walks.put(pos, walk);
+        }
+    }
+}
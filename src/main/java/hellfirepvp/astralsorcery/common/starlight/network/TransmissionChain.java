@@ -9,8 +9,6 @@
 package hellfirepvp.astralsorcery.common.starlight.network;
 
 import hellfirepvp.astralsorcery.common.block.base.BlockStarlightRecipient;
-import hellfirepvp.astralsorcery.common.crystal.CrystalAttributes;
-import hellfirepvp.astralsorcery.common.crystal.CrystalCalculations;
 import hellfirepvp.astralsorcery.common.data.sync.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.data.sync.server.DataLightBlockEndpoints;
 import hellfirepvp.astralsorcery.common.data.sync.server.DataLightConnections;
@@ -18,14 +16,20 @@ import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
 import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
-import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
-import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import hellfirepvp.astralsorcery.common.util.world.IWorldView;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -37,58 +41,90 @@ import java.util.*;
  */
 public class TransmissionChain {
 
-    private final Set<ChunkPos> involvedChunks = new HashSet<>();
-    private final List<LightConnection> foundConnections = new LinkedList<>();
+    private static final byte STEP_VISIT = 0;
+    private static final byte STEP_LINK_CYCLE = 1;
+    private static final byte STEP_LINK_RECEIVER = 2;
+    private static final byte STEP_LINK_NODE = 3;
+    private static final byte STEP_LINK_BLOCK = 4;
+
+    //The depth-first walk that produced this chain, in walk order.
+    //Every derived collection below is a pure replay of this trace.
+    private List<TraceStep> trace = new ArrayList<>();
+
+    private final LongSet involvedChunks = new LongOpenHashSet();
+    private final List<LightConnection> foundConnections = new ArrayList<>();
     private final Map<BlockPos, Float> remainMultiplierMap = new HashMap<>();
 
     private final Set<BlockPos> uncheckedEndpointsBlock = new HashSet<>(); //Might be IBlockSLRecipient or just a normal block.
     private final Set<BlockPos> resolvedNormalBlockPositions = new HashSet<>();
     private final Set<ITransmissionReceiver> endpointsNodes = new HashSet<>(); //Safe to assume those are endpoints
     private final Map<IPrismTransmissionNode, Float> transmissionUpdateMap = new HashMap();
+    private TransmissionDistributionPlan distributionPlan = TransmissionDistributionPlan.EMPTY;
 
     private final WorldNetworkHandler handler;
     private final IPrismTransmissionNode sourceNode;
 
+    //Nodes whose shared walk is being calculated further up the call stack, reached again through a cycle.
+    private final Set<BlockPos> sharedWalksInProgress = new HashSet<>();
+
     private TransmissionChain(WorldNetworkHandler netHandler, IPrismTransmissionNode sourceNode) {
         this.handler = netHandler;
         this.sourceNode = sourceNode;
     }
 
     public static void buildNetworkChain(World world, TransmissionWorldHandler handle, IIndependentStarlightSource source, WorldNetworkHandler netHandler, BlockPos sourcePos) {
-        TransmissionChain chain = buildFromSource(netHandler, sourcePos);
-        handle.updateNetworkChainData(world, chain, source, netHandler, sourcePos);
-        SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS, DataLightConnections.class, data -> {
-            data.updateNewConnectionsThreaded(netHandler.getWorld().getDimensionKey(), chain.getFoundConnections());
-        });
-        SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS, DataLightBlockEndpoints.class, data -> {
-            data.updateNewEndpoints(netHandler.getWorld().getDimensionKey(), chain.getResolvedNormalBlockPositions());
-        });
+        TransmissionChain chain = buildFromSnapshot(netHandler, NetworkSnapshot.capture(netHandler, sourcePos, handle.getSubgraphMemo()));
+        commitNetworkChain(world, handle, chain, source, netHandler, sourcePos);
     }
 
-    private static TransmissionChain buildFromSource(WorldNetworkHandler netHandler, BlockPos at) {
+    //Does not touch the world or any live node, so this is safe to run off the server thread.
+    static TransmissionChain buildFromSnapshot(WorldNetworkHandler netHandler, NetworkSnapshot snapshot) {
+        long start = System.nanoTime();
         TransmissionChain chain = new TransmissionChain(netHandler, null);
 
-        IPrismTransmissionNode node = netHandler.getTransmissionNode(at);
+        NetworkSnapshot.SnapshotNode node = snapshot.getRoot();
         if (node != null) { //Well otherwise we don't need to do anything huh...
-            chain = new TransmissionChain(netHandler, node);
-            chain.recBuildChain(node, 1F, new LinkedList<>());
+            chain = new TransmissionChain(netHandler, node.node);
+            chain.walk(snapshot, node, 1F, Collections.emptyList(), chain.trace);
+            chain.replayTrace();
         }
 
         chain.calculateInvolvedChunks();
-        chain.resolveLoadedEndpoints(netHandler.getWorld());
+
+        NetworkTelemetry.recordChainBuild(snapshot.getRootPos(), System.nanoTime() - start, snapshot.size(),
+                chain.endpointsNodes.size() + chain.uncheckedEndpointsBlock.size());
         return chain;
     }
 
-    private void resolveLoadedEndpoints(World world) {
-        for (BlockPos pos : uncheckedEndpointsBlock) {
-            MiscUtils.executeWithChunk(world, pos, () -> {
-                BlockState state = world.getBlockState(pos);
-                Block b = state.getBlock();
-                if (b instanceof BlockStarlightRecipient) {
-                    return;
-                }
-                resolvedNormalBlockPositions.add(pos);
-            });
+    //Finishes a built chain on the server thread: block-state checks against the live world and registration.
+    static void commitNetworkChain(World world, TransmissionWorldHandler handle, TransmissionChain chain, IIndependentStarlightSource source, WorldNetworkHandler netHandler, BlockPos sourcePos) {
+        chain.resolveLoadedEndpoints(netHandler.getWorldView());
+        chain.distributionPlan = TransmissionDistributionPlan.compile(chain);
+
+        handle.updateNetworkChainData(world, chain, source, netHandler, sourcePos);
+        SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS, DataLightConnections.class, data -> {
+            data.updateNewConnectionsThreaded(netHandler.getWorld().getDimensionKey(), chain.getFoundConnections());
+        });
+        SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS, DataLightBlockEndpoints.class, data -> {
+            data.updateNewEndpoints(netHandler.getWorld().getDimensionKey(), chain.getResolvedNormalBlockPositions());
+        });
+    }
+
+    void resolveLoadedEndpoints(IWorldView world) {
+        this.resolveLoadedEndpoints(world, this.uncheckedEndpointsBlock);
+    }
+
+    void resolveLoadedEndpoints(IWorldView world, Collection<BlockPos> positions) {
+        for (BlockPos pos : positions) {
+            if (!world.isLoaded(pos)) {
+                continue;
+            }
+            BlockState state = world.getBlockState(pos);
+            Block b = state.getBlock();
+            if (b instanceof BlockStarlightRecipient) {
+                continue;
+            }
+            resolvedNormalBlockPositions.add(pos);
         }
     }
 
@@ -101,54 +137,313 @@ public class TransmissionChain {
         }
     }
 
-    private void recBuildChain(IPrismTransmissionNode node, float lossMultiplier, LinkedList<BlockPos> prevPath) {
-        if (lossMultiplier <= 0.001F) return; //No. we don't transfer a part less than 0.1% of the starlight.
+    //Re-walks only the parts of the chain below the given changed positions and patches this chain in place.
+    //Returns null if the chain can't be repaired locally and needs a full rebuild instead.
+    @Nullable
+    ChainDelta repair(World world, Collection<BlockPos> changedPositions, @Nullable SubgraphMemo memo) {
+        if (this.sourceNode == null) {
+            return null;
+        }
+
+        //Find the outermost visits that need to be walked again. A changed position either is a visited node
+        //or the target of a link, in which case the node owning that link is walked again.
+        Set<Integer> rewalk = new TreeSet<>();
+        List<Integer> visitAtDepth = new ArrayList<>();
+        for (int i = 0; i < trace.size(); i++) {
+            TraceStep step = trace.get(i);
+            if (step.type == STEP_VISIT) {
+                while (visitAtDepth.size() > step.depth) {
+                    visitAtDepth.remove(visitAtDepth.size() - 1);
+                }
+                visitAtDepth.add(i);
+                if (changedPositions.contains(step.pos)) {
+                    rewalk.add(i);
+                }
+            } else if (changedPositions.contains(step.pos)) {
+                boolean visitFollows = i + 1 < trace.size() && trace.get(i + 1).type == STEP_VISIT && trace.get(i + 1).pos.equals(step.pos);
+                if (!visitFollows) {
+                    rewalk.add(visitAtDepth.get(step.depth));
+                }
+            }
+        }
+        if (rewalk.isEmpty()) {
+            return new ChainDelta();
+        }
+
+        List<TraceStep> repaired = new ArrayList<>(trace.size());
+        int copiedUntil = 0;
+        for (int visitIndex : rewalk) {
+            if (visitIndex < copiedUntil) {
+                continue; //Already covered by an enclosing visit.
+            }
+            TraceStep visit = trace.get(visitIndex);
+            NetworkSnapshot snapshot = NetworkSnapshot.capture(handler, visit.pos, memo);
+            NetworkSnapshot.SnapshotNode node = snapshot.getRoot();
+            if (node == null) {
+                return null; //The node itself is gone, its parent's link doesn't describe the network anymore.
+            }
+
+            List<BlockPos> path = new ArrayList<>(visit.depth);
+            int end = visitIndex + 1;
+            for (int i = visitIndex - 1; i >= 0 && path.size() < visit.depth; i--) {
+                TraceStep step = trace.get(i);
+                if (step.type == STEP_VISIT && step.depth == visit.depth - path.size() - 1) {
+                    path.add(step.pos);
+                }
+            }
+            while (end < trace.size()) {
+                TraceStep step = trace.get(end);
+                if (step.depth < visit.depth || (step.type == STEP_VISIT && step.depth == visit.depth)) {
+                    break;
+                }
+                end++;
+            }
+
+            repaired.addAll(trace.subList(copiedUntil, visitIndex));
+            List<TraceStep> segment = new ArrayList<>();
+            walk(snapshot, node, visit.lossMultiplier, path, segment);
+            for (TraceStep step : segment) {
+                repaired.add(step.offsetDepth(visit.depth));
+            }
+            copiedUntil = end;
+        }
+        repaired.addAll(trace.subList(copiedUntil, trace.size()));
+
+        Set<BlockPos> prevPositions = new HashSet<>(this.remainMultiplierMap.keySet());
+        LongSet prevChunks = new LongOpenHashSet(this.involvedChunks);
+        Set<LightConnection> prevConnections = new HashSet<>(this.foundConnections);
+        Set<BlockPos> prevUnchecked = new HashSet<>(this.uncheckedEndpointsBlock);
+
+        this.trace = repaired;
+        this.replayTrace();
+        this.involvedChunks.clear();
+        this.calculateInvolvedChunks();
+        this.distributionPlan = TransmissionDistributionPlan.compile(this);
+
+        ChainDelta delta = new ChainDelta();
+        for (BlockPos pos : this.remainMultiplierMap.keySet()) {
+            if (!prevPositions.remove(pos)) {
+                delta.addedPositions.add(pos);
+            }
+        }
+        delta.removedPositions.addAll(prevPositions);
+        for (long chunk : this.involvedChunks) {
+            if (!prevChunks.remove(chunk)) {
+                delta.addedChunks.add(chunk);
+            }
+        }
+        delta.removedChunks.addAll(prevChunks);
 
-        CrystalAttributes lensProperties = node.getTransmissionProperties();
-        float lossPerc = lossMultiplier * CrystalCalculations.getThroughputMultiplier(lensProperties);
-        float nextHopLossPerc = lossPerc * node.getTransmissionThroughputMultiplier();
-        float transmissionPerc = lossPerc * node.getTransmissionConsumptionMultiplier() * CrystalCalculations.getThroughputEffectMultiplier(lensProperties);
+        List<LightConnection> addedConnections = new ArrayList<>();
+        for (LightConnection connection : this.foundConnections) {
+            if (!prevConnections.remove(connection)) {
+                addedConnections.add(connection);
+            }
+        }
+        List<LightConnection> removedConnections = new ArrayList<>(prevConnections);
 
-        List<NodeConnection<IPrismTransmissionNode>> next = node.queryNext(handler);
-        float nextLoss = nextHopLossPerc / ((float) next.size());
-        prevPath.push(node.getLocationPos());
+        List<BlockPos> newUnchecked = new ArrayList<>();
+        for (BlockPos pos : this.uncheckedEndpointsBlock) {
+            if (!prevUnchecked.remove(pos)) {
+                newUnchecked.add(pos);
+            }
+        }
+        delta.removedEndpoints.addAll(prevUnchecked);
+        List<BlockPos> removedResolved = new ArrayList<>();
+        for (BlockPos pos : prevUnchecked) {
+            if (this.resolvedNormalBlockPositions.remove(pos)) {
+                removedResolved.add(pos);
+            }
+        }
+        Set<BlockPos> prevResolved = new HashSet<>(this.resolvedNormalBlockPositions);
+        this.resolveLoadedEndpoints(this.handler.getWorldView(), newUnchecked);
+        List<BlockPos> addedResolved = new ArrayList<>();
+        for (BlockPos pos : this.resolvedNormalBlockPositions) {
+            if (!prevResolved.contains(pos)) {
+                addedResolved.add(pos);
+            }
+        }
 
-        if (node.needsTransmissionUpdate()) {
-            transmissionUpdateMap.put(node, transmissionPerc);
+        if (!removedConnections.isEmpty() || !addedConnections.isEmpty()) {
+            SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS, DataLightConnections.class, data -> {
+                data.removeOldConnectionsThreaded(world.getDimensionKey(), removedConnections);
+                data.updateNewConnectionsThreaded(world.getDimensionKey(), addedConnections);
+            });
         }
+        if (!removedResolved.isEmpty() || !addedResolved.isEmpty()) {
+            SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS, DataLightBlockEndpoints.class, data -> {
+                data.removeEndpoints(world.getDimensionKey(), removedResolved);
+                data.updateNewEndpoints(world.getDimensionKey(), addedResolved);
+            });
+        }
+        return delta;
+    }
 
-        for (NodeConnection<IPrismTransmissionNode> nextNode : next) {
-            IPrismTransmissionNode trNode = nextNode.getNode();
-            if (nextNode.canConnect()) {
-                BlockPos nextPos = nextNode.getTo();
-                addIfNonExistentConnection(node.getLocationPos(), nextPos);
-                if (!prevPath.contains(nextPos)) { //Saves us from cycles. cyclic starlight transmission to a cyclic node means 100% loss.
+    //Walks the network depth-first from the given node and records every visit and link in walk order.
+    //The given path holds the positions of the nodes above the root, which count as cycles.
+    private void walk(NetworkSnapshot snapshot, NetworkSnapshot.SnapshotNode root, float lossMultiplier, List<BlockPos> path, List<TraceStep> out) {
+        Object2IntMap<BlockPos> nodeIds = new Object2IntOpenHashMap<>();
+        nodeIds.defaultReturnValue(-1);
+        BitSet onPath = new BitSet();
+        for (BlockPos pathPos : path) {
+            int pathId = nodeIds.size();
+            nodeIds.put(pathPos, pathId);
+            onPath.set(pathId);
+        }
+        List<BuildFrame> stack = new ArrayList<>();
 
-                    //This never exceeds 1F
-                    remainMultiplierMap.merge(nextPos, nextLoss, Float::sum);
+        int depth = 0;
+        if (enterNode(root, lossMultiplier, stack, depth, nodeIds, onPath, out)) {
+            depth++;
+        }
+        while (depth > 0) {
+            BuildFrame frame = stack.get(depth - 1);
+            if (frame.nextIndex >= frame.next.size()) {
+                onPath.clear(frame.nodeId);
+                frame.next = null;
+                depth--;
+                continue;
+            }
 
-                    if (trNode != null) {
-                        if (trNode instanceof ITransmissionReceiver) { //Tile endpoint
-                            if (!this.endpointsNodes.contains(trNode)) {
-                                this.endpointsNodes.add((ITransmissionReceiver) trNode);
-                            }
-                        } else {
-                            recBuildChain(trNode, nextLoss, prevPath);
-                        }
-                    } else { //BlockPos endpoint - Check for BlockStarlightRecipient is missing here, bc chunk is/might be unloaded.
-                        this.uncheckedEndpointsBlock.add(nextPos);
+            NetworkSnapshot.SnapshotLink nextNode = frame.next.get(frame.nextIndex++);
+            if (!nextNode.canConnect) {
+                continue;
+            }
+            BlockPos nextPos = nextNode.to;
+
+            int nextId = nodeIds.getInt(nextPos);
+            if (nextId != -1 && onPath.get(nextId)) {
+                //Saves us from cycles. cyclic starlight transmission to a cyclic node means 100% loss.
+                out.add(TraceStep.link(depth - 1, STEP_LINK_CYCLE, frame.pos, nextPos, null, 0F));
+                continue;
+            }
+
+            if (nextNode.node != null) {
+                if (nextNode.receiver) { //Tile endpoint
+                    out.add(TraceStep.link(depth - 1, STEP_LINK_RECEIVER, frame.pos, nextPos, nextNode.node, frame.nextLoss));
+                } else {
+                    out.add(TraceStep.link(depth - 1, STEP_LINK_NODE, frame.pos, nextPos, nextNode.node, frame.nextLoss));
+                    NetworkSnapshot.SnapshotNode trNode = snapshot.getNode(nextNode.nodePos);
+                    if (trNode == null || appendSharedWalk(snapshot, trNode, frame.nextLoss, path, stack, depth, out)) {
+                        continue;
+                    }
+                    if (enterNode(trNode, frame.nextLoss, stack, depth, nodeIds, onPath, out)) {
+                        depth++;
                     }
                 }
+            } else { //BlockPos endpoint - Check for BlockStarlightRecipient is missing here, bc chunk is/might be unloaded.
+                out.add(TraceStep.link(depth - 1, STEP_LINK_BLOCK, frame.pos, nextPos, null, frame.nextLoss));
+            }
+        }
+    }
+
+    //Nodes linked from several others are walked once with 1.0 starlight per epoch, every path reaching them scales that walk.
+    //That is the same as walking them again as long as no node on the current path can be reached from there,
+    //and the starlight doesn't exceed 1.0, so the cutoff threshold drops at least everything the shared walk dropped.
+    private boolean appendSharedWalk(NetworkSnapshot snapshot, NetworkSnapshot.SnapshotNode node, float lossMultiplier,
+                                     List<BlockPos> path, List<BuildFrame> stack, int depth, List<TraceStep> out) {
+        SubgraphMemo memo = snapshot.getMemo();
+        if (memo == null || node.linkedSources < 2 || lossMultiplier > 1F) {
+            return false;
+        }
+        SharedWalk walk = memo.getWalk(snapshot.getEpoch(), node.pos);
+        if (walk == null) {
+            if (!this.sharedWalksInProgress.add(node.pos)) {
+                return false;
             }
+            List<TraceStep> steps = new ArrayList<>();
+            walk(snapshot, node, 1F, Collections.emptyList(), steps);
+            this.sharedWalksInProgress.remove(node.pos);
+
+            walk = new SharedWalk(snapshot.getEpoch(), steps);
+            memo.putWalk(node.pos, walk);
+        }
+
+        for (BlockPos pathPos : path) {
+            if (walk.reaches(pathPos)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < depth; i++) {
+            if (walk.reaches(stack.get(i).pos)) {
+                return false;
+            }
+        }
+        walk.appendScaled(lossMultiplier, depth, out);
+        return true;
+    }
+
+    //Pushes the node onto the path at the given stack depth, returns false if nothing needs to be transmitted through it.
+    private boolean enterNode(NetworkSnapshot.SnapshotNode node, float lossMultiplier, List<BuildFrame> stack, int depth,
+                              Object2IntMap<BlockPos> nodeIds, BitSet onPath, List<TraceStep> out) {
+        if (lossMultiplier <= 0.001F) return false; //No. we don't transfer a part less than 0.1% of the starlight.
+
+        float lossPerc = lossMultiplier * node.crystalThroughputMultiplier;
+        float nextHopLossPerc = lossPerc * node.throughputMultiplier;
+        float transmissionPerc = lossPerc * node.consumptionMultiplier * node.crystalThroughputEffectMultiplier;
+
+        List<NetworkSnapshot.SnapshotLink> next = node.next;
+        BlockPos pos = node.pos;
+        int nodeId = nodeIds.getInt(pos);
+        if (nodeId == -1) {
+            nodeId = nodeIds.size();
+            nodeIds.put(pos, nodeId);
         }
+        onPath.set(nodeId);
+
+        out.add(TraceStep.visit(depth, node.node, pos, lossMultiplier, node.needsTransmissionUpdate, transmissionPerc));
 
-        prevPath.pop();
+        BuildFrame frame;
+        if (depth < stack.size()) {
+            frame = stack.get(depth);
+        } else {
+            frame = new BuildFrame();
+            stack.add(frame);
+        }
+        frame.pos = pos;
+        frame.nodeId = nodeId;
+        frame.nextLoss = nextHopLossPerc / ((float) next.size());
+        frame.next = next;
+        frame.nextIndex = 0;
+        return true;
+    }
+
+    //Rebuilds all derived data from the trace in walk order, which keeps the multiplier sums identical to a fresh build.
+    private void replayTrace() {
+        this.foundConnections.clear();
+        this.remainMultiplierMap.clear();
+        this.uncheckedEndpointsBlock.clear();
+        this.endpointsNodes.clear();
+        this.transmissionUpdateMap.clear();
+
+        Set<LightConnection> knownConnections = new HashSet<>();
+        for (TraceStep step : this.trace) {
+            if (step.type == STEP_VISIT) {
+                if (step.transmissionUpdate) {
+                    transmissionUpdateMap.put(step.node, step.amount);
+                }
+                continue;
+            }
+            addIfNonExistentConnection(step.from, step.pos, knownConnections);
+            if (step.type == STEP_LINK_CYCLE) {
+                continue;
+            }
+
+            //This never exceeds 1F
+            remainMultiplierMap.merge(step.pos, step.amount, Float::sum);
+
+            if (step.type == STEP_LINK_RECEIVER) {
+                this.endpointsNodes.add((ITransmissionReceiver) step.node);
+            } else if (step.type == STEP_LINK_BLOCK) {
+                this.uncheckedEndpointsBlock.add(step.pos);
+            }
+        }
     }
 
     //After calculating everything...
     private void calculateInvolvedChunks() {
         for (BlockPos nodePos : remainMultiplierMap.keySet()) {
-            involvedChunks.add(new ChunkPos(nodePos));
+            involvedChunks.add(ChunkPos.asLong(nodePos.getX() >> 4, nodePos.getZ() >> 4));
         }
     }
 
@@ -161,16 +456,21 @@ public class TransmissionChain {
     }
 
     //For rendering purposes.
-    private void addIfNonExistentConnection(BlockPos start, BlockPos end) {
+    private void addIfNonExistentConnection(BlockPos start, BlockPos end, Set<LightConnection> knownConnections) {
         LightConnection newCon = new LightConnection(start, end);
-        if (!foundConnections.contains(newCon)) foundConnections.add(newCon);
+        if (knownConnections.add(newCon)) foundConnections.add(newCon);
+    }
+
+    public TransmissionDistributionPlan getDistributionPlan() {
+        return distributionPlan;
     }
 
     public Map<IPrismTransmissionNode, Float> getTransmissionUpdates() {
         return this.transmissionUpdateMap;
     }
 
-    public Collection<ChunkPos> getInvolvedChunks() {
+    //Chunks as ChunkPos.asLong keys.
+    public LongSet getInvolvedChunks() {
         return involvedChunks;
     }
 
@@ -190,6 +490,115 @@ public class TransmissionChain {
         return uncheckedEndpointsBlock;
     }
 
+    //One entry of the explicit path stack, reused across siblings at the same depth.
+    private static class BuildFrame {
+
+        private BlockPos pos;
+        private int nodeId;
+        private float nextLoss;
+        private List<NetworkSnapshot.SnapshotLink> next;
+        private int nextIndex;
+
+    }
+
+    //The walk from one node with 1.0 starlight, shared between the chains of the epoch it was walked in.
+    static class SharedWalk {
+
+        final int epoch;
+        private final List<TraceStep> steps;
+        //Every position visited or linked to, keyed by BlockPos.toLong.
+        private final LongSet reached = new LongOpenHashSet();
+
+        private SharedWalk(int epoch, List<TraceStep> steps) {
+            this.epoch = epoch;
+            this.steps = steps;
+            for (TraceStep step : steps) {
+                this.reached.add(step.pos.toLong());
+            }
+        }
+
+        int size() {
+            return steps.size();
+        }
+
+        private boolean reaches(BlockPos pos) {
+            return this.reached.contains(pos.toLong());
+        }
+
+        //Visits falling below the threshold at this scale are dropped along with everything below them, like enterNode would.
+        private void appendScaled(float scale, int depthOffset, List<TraceStep> out) {
+            int skipDepth = -1;
+            for (TraceStep step : this.steps) {
+                if (skipDepth != -1) {
+                    if (step.depth >= skipDepth) {
+                        continue;
+                    }
+                    skipDepth = -1;
+                }
+                if (step.type == STEP_VISIT && step.lossMultiplier * scale <= 0.001F) {
+                    skipDepth = step.depth;
+                    continue;
+                }
+                out.add(step.scaled(scale, depthOffset));
+            }
+        }
+    }
+
+    //Either the visit of a node or a link leaving the node visited at the same depth.
+    private static class TraceStep {
+
+        private final byte type;
+        private final int depth;
+        private final BlockPos from, pos;
+        @Nullable
+        private final IPrismTransmissionNode node;
+        private final float lossMultiplier;
+        private final boolean transmissionUpdate;
+        private final float amount;
+
+        private TraceStep(byte type, int depth, BlockPos from, BlockPos pos, @Nullable IPrismTransmissionNode node,
+                          float lossMultiplier, boolean transmissionUpdate, float amount) {
+            this.type = type;
+            this.depth = depth;
+            this.from = from;
+            this.pos = pos;
+            this.node = node;
+            this.lossMultiplier = lossMultiplier;
+            this.transmissionUpdate = transmissionUpdate;
+            this.amount = amount;
+        }
+
+        private static TraceStep visit(int depth, IPrismTransmissionNode node, BlockPos pos, float lossMultiplier, boolean transmissionUpdate, float transmissionPerc) {
+            return new TraceStep(STEP_VISIT, depth, null, pos, node, lossMultiplier, transmissionUpdate, transmissionPerc);
+        }
+
+        private static TraceStep link(int depth, byte type, BlockPos from, BlockPos to, @Nullable IPrismTransmissionNode node, float multiplier) {
+            return new TraceStep(type, depth, from, to, node, 0F, false, multiplier);
+        }
+
+        private TraceStep scaled(float scale, int offset) {
+            return new TraceStep(type, depth + offset, from, pos, node, lossMultiplier * scale, transmissionUpdate, amount * scale);
+        }
+
+        private TraceStep offsetDepth(int offset) {
+            if (offset == 0) {
+                return this;
+            }
+            return new TraceStep(type, depth + offset, from, pos, node, lossMultiplier, transmissionUpdate, amount);
+        }
+    }
+
+    //Positions and chunks that entered or left a chain during a repair.
+    static class ChainDelta {
+
+        final List<BlockPos> addedPositions = new ArrayList<>();
+        final List<BlockPos> removedPositions = new ArrayList<>();
+        final LongList addedChunks = new LongArrayList();
+        final LongList removedChunks = new LongArrayList();
+        final List<BlockPos> removedEndpoints = new ArrayList<>();
+
+    }
+
     public static class LightConnection {
 
         private final BlockPos start, end;
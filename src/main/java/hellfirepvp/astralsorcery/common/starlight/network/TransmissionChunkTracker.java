@@ -8,6 +8,8 @@
 
 package hellfirepvp.astralsorcery.common.starlight.network;
 
+import hellfirepvp.astralsorcery.common.data.world.LightNetworkBuffer;
+import hellfirepvp.astralsorcery.common.lib.DataAS;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.ChunkEvent;
@@ -43,6 +45,10 @@ public class TransmissionChunkTracker {
         if (handle != null) {
             handle.informChunkLoad(event.getChunk().getPos());
         }
+        LightNetworkBuffer buffer = DataAS.DOMAIN_AS.getData((World) iWorld, DataAS.KEY_STARLIGHT_NETWORK);
+        if (buffer != null) {
+            buffer.informChunkLoad(event.getChunk().getPos());
+        }
     }
 
     private void onChUnload(ChunkEvent.Unload event) {
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: TransmissionDistributionPlan
+ * Created by agent
+ * Date: 18.10.2026 / 05:01
+ */
+//Flat snapshot of a TransmissionChain's endpoints and their multipliers, compiled whenever the chain changes.
+//Distributing starlight along it each tick does no map lookups, boxing or allocation.
+public class TransmissionDistributionPlan {
+
+    static final TransmissionDistributionPlan EMPTY = new TransmissionDistributionPlan(
+            new ITransmissionReceiver[0], new float[0],
+            new IPrismTransmissionNode[0], new float[0],
+            new BlockPos[0], new float[0]);
+
+    final ITransmissionReceiver[] receivers;
+    final float[] receiverMultipliers;
+
+    final IPrismTransmissionNode[] transmissionNodes;
+    final float[] transmissionMultipliers;
+
+    final BlockPos[] blockEndpoints;
+    final float[] blockMultipliers;
+
+    private TransmissionDistributionPlan(ITransmissionReceiver[] receivers, float[] receiverMultipliers,
+                                         IPrismTransmissionNode[] transmissionNodes, float[] transmissionMultipliers,
+                                         BlockPos[] blockEndpoints, float[] blockMultipliers) {
+        this.receivers = receivers;
+        this.receiverMultipliers = receiverMultipliers;
+        this.transmissionNodes = transmissionNodes;
+        this.transmissionMultipliers = transmissionMultipliers;
+        this.blockEndpoints = blockEndpoints;
+        this.blockMultipliers = blockMultipliers;
+    }
+
+    static TransmissionDistributionPlan compile(TransmissionChain chain) {
+        Map<BlockPos, Float> lossMultipliers = chain.getLossMultipliers();
+
+        ITransmissionReceiver[] receivers = new ITransmissionReceiver[chain.getEndpointsNodes().size()];
+        float[] receiverMultipliers = new float[receivers.length];
+        int receiverCount = 0;
+        for (ITransmissionReceiver rec : chain.getEndpointsNodes()) {
+            Float multiplier = lossMultipliers.get(rec.getLocationPos());
+            if (multiplier != null) {
+                receivers[receiverCount] = rec;
+                receiverMultipliers[receiverCount] = multiplier;
+                receiverCount++;
+            }
+        }
+
+        //Nodes below 1% never receive a transmission tick, no need to carry them around.
+        IPrismTransmissionNode[] transmissionNodes = new IPrismTransmissionNode[chain.getTransmissionUpdates().size()];
+        float[] transmissionMultipliers = new float[transmissionNodes.length];
+        int transmissionCount = 0;
+        for (Map.Entry<IPrismTransmissionNode, Float> entry : chain.getTransmissionUpdates().entrySet()) {
+            if (entry.getValue() >= 0.01F) {
+                transmissionNodes[transmissionCount] = entry.getKey();
+                transmissionMultipliers[transmissionCount] = entry.getValue();
+                transmissionCount++;
+            }
+        }
+
+        BlockPos[] blockEndpoints = new BlockPos[chain.getUncheckedEndpointsBlock().size()];
+        float[] blockMultipliers = new float[blockEndpoints.length];
+        int blockCount = 0;
+        for (BlockPos pos : chain.getUncheckedEndpointsBlock()) {
+            Float multiplier = lossMultipliers.get(pos);
+            if (multiplier != null) {
+                blockEndpoints[blockCount] = pos;
+                blockMultipliers[blockCount] = multiplier;
+                blockCount++;
+            }
+        }
+
+        return new TransmissionDistributionPlan(
+                Arrays.copyOf(receivers, receiverCount), Arrays.copyOf(receiverMultipliers, receiverCount),
+                Arrays.copyOf(transmissionNodes, transmissionCount), Arrays.copyOf(transmissionMultipliers, transmissionCount),
+                Arrays.copyOf(blockEndpoints, blockCount), Arrays.copyOf(blockMultipliers, blockCount));
+    }
+
+    //Block endpoints need the world's block states, they're handled by the TransmissionWorldHandler itself.
+    void distributeToNodes(World world, IWeakConstellation type, float starlight, boolean transmissionTick) {
+        for (int i = 0; i < receivers.length; i++) {
+            receivers[i].onStarlightReceive(world, type, starlight * receiverMultipliers[i]);
+        }
+
+        if (transmissionTick) {
+            for (int i = 0; i < transmissionNodes.length; i++) {
+                transmissionNodes[i].onTransmissionTick(world, starlight * transmissionMultipliers[i], type);
+            }
+        }
+    }
+
+    public int getReceiverCount() {
+        return receivers.length;
+    }
+
+    public int getTransmissionNodeCount() {
+        return transmissionNodes.length;
+    }
+
+    public int getBlockEndpointCount() {
+        return blockEndpoints.length;
+    }
+}
@@ -9,16 +9,26 @@
 package hellfirepvp.astralsorcery.common.starlight.network;
 
 import com.google.common.collect.ImmutableList;
+import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.block.base.BlockStarlightRecipient;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.data.config.entry.LightNetworkConfig;
 import hellfirepvp.astralsorcery.common.data.sync.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.data.sync.server.DataLightBlockEndpoints;
 import hellfirepvp.astralsorcery.common.data.sync.server.DataLightConnections;
 import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
-import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.RegistryKey;
@@ -26,9 +36,15 @@ import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.AbstractChunkProvider;
 import net.minecraft.world.server.ServerWorld;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -40,14 +56,17 @@ import java.util.*;
 public class TransmissionWorldHandler {
 
     private static final Random rand = new Random();
+    private static ExecutorService chainBuildExecutor = null;
 
     //If a source looses all chunks/all chunks in its network get unloaded it doesn't need to broadcast starlight anymore
     //This map exists to associate a certain chunkPosition to the involved networks in it.
-    private final Map<ChunkPos, List<IIndependentStarlightSource>> involvedSourceMap = new HashMap<>();
+    //Chunks are keyed by ChunkPos.asLong.
+    private final Long2ObjectMap<Set<IIndependentStarlightSource>> involvedSourceMap = new Long2ObjectOpenHashMap<>();
 
-    //The counterpart to check faster
+    //The involved chunks that are currently loaded, and how many of them each source's network has.
     //Removing a source here will also stop production!
-    private final Map<IIndependentStarlightSource, List<ChunkPos>> activeChunkMap = new HashMap<>();
+    private final LongSet loadedChunks = new LongOpenHashSet();
+    private final Object2IntMap<IIndependentStarlightSource> loadedChunkCount = new Object2IntOpenHashMap<>();
 
     private final Map<IIndependentStarlightSource, TransmissionChain> cachedSourceChain = new HashMap<>(); //The distribution source chain.
 
@@ -56,16 +75,38 @@ public class TransmissionWorldHandler {
     //Contains a list of source positions whose sources currently calculate their network.
     private final Set<BlockPos> sourcePosBuilding = new HashSet<>();
 
+    //Chain builds currently running on the builder threads, committed at the start of the tick after they finished.
+    private final Map<IIndependentStarlightSource, PendingChainBuild> runningChainBuilds = new HashMap<>();
+    private final Queue<PendingChainBuild> completedChainBuilds = new ConcurrentLinkedQueue<>();
+
+    //Node positions that changed since the source's chain was built, repaired before the source's next tick.
+    private final Map<IIndependentStarlightSource, Set<BlockPos>> pendingChainRepairs = new HashMap<>();
+
+    //Round-robin order of the sources and the game tick each of them last distributed starlight in.
+    private List<Tuple<BlockPos, IIndependentStarlightSource>> scheduledSources = null;
+    private final Object2LongMap<IIndependentStarlightSource> lastSourceTick = new Object2LongOpenHashMap<>();
+    private int sourceTickCursor = 0;
+
+    //Resolved receivers of block endpoints, keyed by BlockPos.toLong. Entries are dropped once the chain reaching them changes or breaks.
+    private final Long2ObjectMap<ResolvedEndpoint> resolvedEndpoints = new Long2ObjectOpenHashMap<>();
+
+    //Captured nodes and walks the chains of several sources have in common.
+    private final SubgraphMemo subgraphMemo = new SubgraphMemo();
+
     private final RegistryKey<World> dim;
 
     public TransmissionWorldHandler(RegistryKey<World> dimKey) {
         this.dim = dimKey;
+        this.lastSourceTick.defaultReturnValue(-1);
     }
 
     public void tick(ServerWorld world) {
+        long tickStart = System.nanoTime();
         WorldNetworkHandler handler = WorldNetworkHandler.getNetworkHandler(world);
+        commitCompletedChainBuilds(world, handler);
 
-        for (Tuple<BlockPos, IIndependentStarlightSource> sourceTuple : handler.getAllSources()) {
+        List<Tuple<BlockPos, IIndependentStarlightSource>> sources = handler.getAllSources();
+        for (Tuple<BlockPos, IIndependentStarlightSource> sourceTuple : sources) {
             BlockPos at = sourceTuple.getA();
             IIndependentStarlightSource source = sourceTuple.getB();
 
@@ -74,78 +115,210 @@ public class TransmissionWorldHandler {
                     sourcePosBuilding.add(at);
                     buildNetworkChain(world, source, handler, at);
                 }
+            } else {
+                Set<BlockPos> changedPositions = pendingChainRepairs.remove(source);
+                if (changedPositions != null) {
+                    repairNetworkChain(world, source, handler, at, changedPositions);
+                }
             }
+        }
 
-            List<ChunkPos> activeChunks = activeChunkMap.get(source);
-            if (activeChunks == null || activeChunks.isEmpty()) {
-                continue; //Not producing anything as no part of this chain is loaded.
+        if (sources != scheduledSources) {
+            updateScheduledSources(sources);
+        }
+        if (sources.isEmpty()) {
+            NetworkTelemetry.recordNetworkTick(dim, System.nanoTime() - tickStart, 0, 0);
+            return;
+        }
+
+        //Continue where the last tick ran out of time. If it got through every source, this ends up
+        //at the same index again and all sources are processed in the same order as before.
+        long budget = LightNetworkConfig.CONFIG.sourceTickBudgetMicros.get() * 1000L;
+        long gameTime = world.getGameTime();
+        long start = System.nanoTime();
+        long sourceStart = start;
+        int index = sourceTickCursor % sources.size();
+        int processed = 0;
+        while (processed < sources.size()) {
+            Tuple<BlockPos, IIndependentStarlightSource> sourceTuple = sources.get(index);
+            index = (index + 1) % sources.size();
+
+            distributeStarlight(world, sourceTuple.getA(), sourceTuple.getB(), gameTime);
+            processed++;
+
+            long now = System.nanoTime();
+            NetworkTelemetry.recordSourceDistribution(dim, sourceTuple.getA(), now - sourceStart);
+            sourceStart = now;
+            if (budget > 0 && now - start >= budget) {
+                break;
             }
+        }
+        sourceTickCursor = index;
+        NetworkTelemetry.recordNetworkTick(dim, System.nanoTime() - tickStart, sources.size(), processed);
+    }
+
+    //The source list is only recreated when sources are added or removed, drop the tick times of those that are gone.
+    private void updateScheduledSources(List<Tuple<BlockPos, IIndependentStarlightSource>> sources) {
+        scheduledSources = sources;
 
-            TransmissionChain chain = cachedSourceChain.get(source);
-            float starlight = source.produceStarlightTick(world, at);
-            IWeakConstellation type = source.getStarlightType();
-            if (type == null) {
+        Set<IIndependentStarlightSource> present = new HashSet<>();
+        for (Tuple<BlockPos, IIndependentStarlightSource> sourceTuple : sources) {
+            present.add(sourceTuple.getB());
+        }
+        lastSourceTick.keySet().retainAll(present);
+    }
+
+    private void distributeStarlight(ServerWorld world, BlockPos at, IIndependentStarlightSource source, long gameTime) {
+        //Sources skipped for a few ticks due to the time budget deliver the starlight of all ticks they missed.
+        long lastTick = lastSourceTick.put(source, gameTime);
+        int ticks = lastTick == -1 ? 1 : (int) Math.max(1, Math.min(gameTime - lastTick, Integer.MAX_VALUE));
+
+        if (loadedChunkCount.getInt(source) <= 0) {
+            return; //Not producing anything as no part of this chain is loaded.
+        }
+
+        TransmissionChain chain = cachedSourceChain.get(source);
+        float starlightTick = source.produceStarlightTick(world, at);
+        IWeakConstellation type = source.getStarlightType();
+        if (type == null) {
+            return;
+        }
+        float starlight = starlightTick * ticks;
+
+        TransmissionDistributionPlan plan = chain.getDistributionPlan();
+        plan.distributeToNodes(world, type, starlight, starlightTick > 0.01F);
+
+        AbstractChunkProvider chunkProvider = world.getChunkProvider();
+        for (int i = 0; i < plan.blockEndpoints.length; i++) {
+            BlockPos endPointPos = plan.blockEndpoints[i];
+            if (!chunkProvider.canTick(endPointPos)) {
                 continue;
             }
-
-            Map<BlockPos, Float> lossMultipliers = chain.getLossMultipliers();
-            for (ITransmissionReceiver rec : chain.getEndpointsNodes()) {
-                BlockPos pos = rec.getLocationPos();
-                Float multiplier = lossMultipliers.get(pos);
-                if (multiplier != null) {
-                    rec.onStarlightReceive(world, type, starlight * multiplier);
-                }
+            BlockState endState = world.getBlockState(endPointPos);
+            ResolvedEndpoint resolved = resolveEndpoint(world, endPointPos, endState, type);
+            if (resolved.recipient != null) {
+                resolved.recipient.receiveStarlight(world, rand, endPointPos, type, starlight * plan.blockMultipliers[i]);
+            } else if (resolved.handler != null) {
+                resolved.handler.receiveStarlight(world, rand, endPointPos, endState, type, starlight * plan.blockMultipliers[i]);
+            } else {
+                chain.updatePosAsResolved(world, endPointPos);
             }
+        }
+    }
 
-            if (starlight > 0.01F) {
-                chain.getTransmissionUpdates().forEach((node, multiplier) -> {
-                    if (multiplier >= 0.01F) {
-                        node.onTransmissionTick(world, starlight * multiplier, type);
-                    }
-                });
-            }
-
-            for (BlockPos endPointPos : chain.getUncheckedEndpointsBlock()) {
-                MiscUtils.executeWithChunk(world, endPointPos, () -> {
-                    BlockState endState = world.getBlockState(endPointPos);
-                    Block b = endState.getBlock();
-                    if (b instanceof BlockStarlightRecipient) {
-                        Float multiplier = lossMultipliers.get(endPointPos);
-                        if (multiplier != null) {
-                            ((BlockStarlightRecipient) b).receiveStarlight(world, rand, endPointPos, type, starlight * multiplier);
-                        }
-                    } else {
-                        StarlightNetworkRegistry.IStarlightBlockHandler handle = StarlightNetworkRegistry.getStarlightHandler(world, endPointPos, endState, type);
-                        if (handle != null) {
-                            Float multiplier = lossMultipliers.get(endPointPos);
-                            if (multiplier != null) {
-                                handle.receiveStarlight(world, rand, endPointPos, endState, type, starlight * multiplier);
-                            }
-                        } else {
-                            chain.updatePosAsResolved(world, endPointPos);
-                        }
-                    }
-                });
+    //Looking up the handler means going through every registered handler, and for transmutations through every recipe.
+    //The result only changes with the block state, the starlight type or the handlers' data, so it's kept until one of them changes.
+    private ResolvedEndpoint resolveEndpoint(World world, BlockPos pos, BlockState state, IWeakConstellation type) {
+        long key = pos.toLong();
+        ResolvedEndpoint resolved = resolvedEndpoints.get(key);
+        if (resolved == null || !resolved.matches(state, type)) {
+            Block b = state.getBlock();
+            if (b instanceof BlockStarlightRecipient) {
+                resolved = new ResolvedEndpoint(state, type, (BlockStarlightRecipient) b, null);
+            } else {
+                resolved = new ResolvedEndpoint(state, type, null, StarlightNetworkRegistry.getStarlightHandler(world, pos, state, type));
             }
+            resolvedEndpoints.put(key, resolved);
         }
+        return resolved;
+    }
+
+    public void informBlockChange(BlockPos pos) {
+        resolvedEndpoints.remove(pos.toLong());
     }
 
     private void buildNetworkChain(World world, IIndependentStarlightSource source, WorldNetworkHandler handler, BlockPos sourcePos) {
-        TransmissionChain.buildNetworkChain(world, this, source, handler, sourcePos);
+        if (!LightNetworkConfig.CONFIG.asyncChainBuilding.get()) {
+            TransmissionChain.buildNetworkChain(world, this, source, handler, sourcePos);
+            return;
+        }
+
+        PendingChainBuild build = new PendingChainBuild(source, sourcePos, NetworkSnapshot.capture(handler, sourcePos, getSubgraphMemo()));
+        runningChainBuilds.put(source, build);
+        getChainBuildExecutor().execute(() -> {
+            try {
+                build.chain = TransmissionChain.buildFromSnapshot(handler, build.snapshot);
+            } catch (Exception exc) {
+                AstralSorcery.log.warn("Failed to build starlight network chain for source at " + sourcePos + "!", exc);
+            }
+            completedChainBuilds.add(build);
+        });
+    }
+
+    private void commitCompletedChainBuilds(World world, WorldNetworkHandler handler) {
+        PendingChainBuild build;
+        while ((build = completedChainBuilds.poll()) != null) {
+            if (runningChainBuilds.get(build.source) != build) {
+                continue; //Superseded or cleared in the meantime.
+            }
+            runningChainBuilds.remove(build.source);
+
+            if (build.stale || build.chain == null || handler.getSourceAt(build.sourcePos) != build.source) {
+                //The network changed while building, free the position so the next tick builds it again.
+                sourcePosBuilding.remove(build.sourcePos);
+                continue;
+            }
+            TransmissionChain.commitNetworkChain(world, this, build.chain, build.source, handler, build.sourcePos);
+        }
+    }
+
+    private static synchronized ExecutorService getChainBuildExecutor() {
+        if (chainBuildExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger(0);
+            chainBuildExecutor = Executors.newFixedThreadPool(LightNetworkConfig.CONFIG.chainBuildThreads.get(), run -> {
+                Thread tr = new Thread(run, "StarlightNetwork-ChainBuilder-" + threadCount.incrementAndGet());
+                tr.setDaemon(true);
+                return tr;
+            });
+        }
+        return chainBuildExecutor;
+    }
+
+    private void repairNetworkChain(World world, IIndependentStarlightSource source, WorldNetworkHandler handler, BlockPos sourcePos, Set<BlockPos> changedPositions) {
+        TransmissionChain chain = cachedSourceChain.get(source);
+        TransmissionChain.ChainDelta delta = chain.repair(world, changedPositions, getSubgraphMemo());
+        if (delta == null) {
+            breakSourceNetwork(source);
+            sourcePosBuilding.add(sourcePos);
+            buildNetworkChain(world, source, handler, sourcePos);
+            return;
+        }
+
+        for (int i = 0; i < delta.removedChunks.size(); i++) {
+            removeInvolvedChunk(source, delta.removedChunks.getLong(i));
+        }
+        for (int i = 0; i < delta.addedChunks.size(); i++) {
+            addInvolvedChunk(world, source, delta.addedChunks.getLong(i));
+        }
+        for (BlockPos pos : delta.removedPositions) {
+            List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
+            if (sources != null) {
+                sources.remove(source);
+                if (sources.isEmpty()) {
+                    posToSourceMap.remove(pos);
+                }
+            }
+        }
+        for (BlockPos pos : delta.addedPositions) {
+            posToSourceMap.computeIfAbsent(pos, k -> new LinkedList<>()).add(source);
+        }
+        for (BlockPos pos : delta.removedEndpoints) {
+            resolvedEndpoints.remove(pos.toLong());
+        }
+    }
+
+    @Nullable
+    SubgraphMemo getSubgraphMemo() {
+        return LightNetworkConfig.CONFIG.sharedSubgraphMemo.get() ? subgraphMemo : null;
     }
 
     void updateNetworkChainData(World world, TransmissionChain chain, IIndependentStarlightSource source, WorldNetworkHandler handle, BlockPos sourcePos) {
         sourcePosBuilding.remove(sourcePos);
 
         cachedSourceChain.put(source, chain);
-        List<ChunkPos> activeChunks = new LinkedList<>();
-        for (ChunkPos pos : chain.getInvolvedChunks()) {
-            List<IIndependentStarlightSource> sources = involvedSourceMap.computeIfAbsent(pos, k -> new LinkedList<>());
-            sources.add(source);
-            MiscUtils.executeWithChunk(world, pos, () -> activeChunks.add(pos));
-        }
-        if (!activeChunks.isEmpty()) {
-            activeChunkMap.put(source, activeChunks);
+        LongIterator chunks = chain.getInvolvedChunks().iterator();
+        while (chunks.hasNext()) {
+            addInvolvedChunk(world, source, chunks.nextLong());
         }
         for (BlockPos pos : chain.getLossMultipliers().keySet()) {
             List<IIndependentStarlightSource> sources = posToSourceMap.computeIfAbsent(pos, k -> new LinkedList<>());
@@ -160,12 +333,25 @@ public class TransmissionWorldHandler {
     }
 
     //Fired if the node's state related to the network changes.
-    //Break all networks associated with that node to trigger recalculations as needed.
+    //Either queue a repair of the affected part of all networks associated with that node,
+    //or break them entirely to trigger recalculations as needed.
     public void notifyTransmissionNodeChange(IPrismTransmissionNode node) {
         BlockPos pos = node.getLocationPos();
+        subgraphMemo.invalidate();
+        for (PendingChainBuild build : runningChainBuilds.values()) {
+            if (build.snapshot.contains(pos)) {
+                build.stale = true;
+            }
+        }
         List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
         if (sources != null) {
-            new ArrayList<>(sources).forEach(this::breakSourceNetwork);
+            if (LightNetworkConfig.CONFIG.incrementalChainRepair.get()) {
+                for (IIndependentStarlightSource source : sources) {
+                    pendingChainRepairs.computeIfAbsent(source, k -> new HashSet<>()).add(pos);
+                }
+            } else {
+                new ArrayList<>(sources).forEach(this::breakSourceNetwork);
+            }
         }
     }
 
@@ -175,16 +361,16 @@ public class TransmissionWorldHandler {
 
     //Remove a source from the network to trigger recalculation!
     public void breakSourceNetwork(IIndependentStarlightSource source) {
+        subgraphMemo.invalidate();
+        PendingChainBuild build = runningChainBuilds.get(source);
+        if (build != null) {
+            build.stale = true;
+        }
         TransmissionChain knownChain = cachedSourceChain.get(source);
         if (knownChain != null) {
-            for (ChunkPos chPos : knownChain.getInvolvedChunks()) {
-                List<IIndependentStarlightSource> sources = involvedSourceMap.get(chPos);
-                if (sources != null) {
-                    sources.remove(source);
-                    if (sources.isEmpty()) {
-                        involvedSourceMap.remove(chPos);
-                    }
-                }
+            LongIterator chunks = knownChain.getInvolvedChunks().iterator();
+            while (chunks.hasNext()) {
+                removeInvolvedChunk(source, chunks.nextLong());
             }
             for (BlockPos pos : knownChain.getLossMultipliers().keySet()) {
                 List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
@@ -195,6 +381,10 @@ public class TransmissionWorldHandler {
                     }
                 }
             }
+            //Other chains reaching the same blocks just resolve them again.
+            for (BlockPos pos : knownChain.getUncheckedEndpointsBlock()) {
+                resolvedEndpoints.remove(pos.toLong());
+            }
             SyncDataHolder.executeServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS, DataLightConnections.class, data -> {
                 data.removeOldConnectionsThreaded(dim, knownChain.getFoundConnections());
             });
@@ -202,51 +392,120 @@ public class TransmissionWorldHandler {
                 data.removeEndpoints(dim, knownChain.getResolvedNormalBlockPositions());
             });
         }
-        activeChunkMap.remove(source);
+        loadedChunkCount.removeInt(source);
         cachedSourceChain.remove(source);
+        pendingChainRepairs.remove(source);
+    }
+
+    private void addInvolvedChunk(World world, IIndependentStarlightSource source, long chunk) {
+        Set<IIndependentStarlightSource> sources = involvedSourceMap.get(chunk);
+        if (sources == null) {
+            sources = new HashSet<>();
+            involvedSourceMap.put(chunk, sources);
+            MiscUtils.executeWithChunk(world, new ChunkPos(chunk), () -> loadedChunks.add(chunk));
+        }
+        if (sources.add(source) && loadedChunks.contains(chunk)) {
+            loadedChunkCount.addTo(source, 1);
+        }
+    }
+
+    private void removeInvolvedChunk(IIndependentStarlightSource source, long chunk) {
+        Set<IIndependentStarlightSource> sources = involvedSourceMap.get(chunk);
+        if (sources == null || !sources.remove(source)) {
+            return;
+        }
+        if (loadedChunks.contains(chunk)) {
+            decrementLoadedChunks(source);
+        }
+        if (sources.isEmpty()) {
+            involvedSourceMap.remove(chunk);
+            loadedChunks.remove(chunk);
+        }
+    }
+
+    private void decrementLoadedChunks(IIndependentStarlightSource source) {
+        if (loadedChunkCount.addTo(source, -1) <= 1) {
+            loadedChunkCount.removeInt(source);
+        }
     }
 
     public void informChunkUnload(ChunkPos pos) {
-        List<IIndependentStarlightSource> sources = involvedSourceMap.get(pos);
-        if (sources != null) {
+        long chunk = pos.asLong();
+        Set<IIndependentStarlightSource> sources = involvedSourceMap.get(chunk);
+        if (sources != null && loadedChunks.remove(chunk)) {
             for (IIndependentStarlightSource source : sources) {
-                List<ChunkPos> activeChunks = activeChunkMap.get(source);
-                if (activeChunks != null) {
-                    activeChunks.remove(pos);
-                    if (activeChunks.isEmpty()) {
-                        activeChunkMap.remove(source);
-                    }
-                }
+                decrementLoadedChunks(source);
             }
         }
     }
 
     public void informChunkLoad(ChunkPos pos) {
-        List<IIndependentStarlightSource> sources = involvedSourceMap.get(pos);
-        if (sources != null) {
+        long chunk = pos.asLong();
+        Set<IIndependentStarlightSource> sources = involvedSourceMap.get(chunk);
+        if (sources != null && loadedChunks.add(chunk)) {
             for (IIndependentStarlightSource source : sources) {
-                TransmissionChain chain = cachedSourceChain.get(source);
-                if (chain != null) {
-                    if (chain.getInvolvedChunks().contains(pos)) {
-                        if (activeChunkMap.containsKey(source)) {
-                            List<ChunkPos> positions = activeChunkMap.get(source);
-                            if (!positions.contains(pos)) positions.add(pos);
-                        } else {
-                            List<ChunkPos> positions = new LinkedList<>();
-                            positions.add(pos);
-                            activeChunkMap.put(source, positions);
-                        }
-                    }
-                }
+                loadedChunkCount.addTo(source, 1);
             }
         }
     }
 
     public void clear() {
-        this.activeChunkMap.clear();
+        this.loadedChunks.clear();
+        this.loadedChunkCount.clear();
         this.cachedSourceChain.clear();
         this.involvedSourceMap.clear();
         this.posToSourceMap.clear();
+        this.pendingChainRepairs.clear();
+        this.runningChainBuilds.clear();
+        this.completedChainBuilds.clear();
+        this.sourcePosBuilding.clear();
+        this.scheduledSources = null;
+        this.lastSourceTick.clear();
+        this.sourceTickCursor = 0;
+        this.resolvedEndpoints.clear();
+        this.subgraphMemo.invalidate();
+    }
+
+    private static class ResolvedEndpoint {
+
+        private final BlockState state;
+        private final IWeakConstellation type;
+        private final int handlerGeneration;
+
+        @Nullable
+        private final BlockStarlightRecipient recipient;
+        @Nullable
+        private final StarlightNetworkRegistry.IStarlightBlockHandler handler;
+
+        private ResolvedEndpoint(BlockState state, IWeakConstellation type,
+                                 @Nullable BlockStarlightRecipient recipient,
+                                 @Nullable StarlightNetworkRegistry.IStarlightBlockHandler handler) {
+            this.state = state;
+            this.type = type;
+            this.handlerGeneration = StarlightNetworkRegistry.getHandlerGeneration();
+            this.recipient = recipient;
+            this.handler = handler;
+        }
+
+        private boolean matches(BlockState state, IWeakConstellation type) {
+            return this.state == state && this.type == type && this.handlerGeneration == StarlightNetworkRegistry.getHandlerGeneration();
+        }
+    }
+
+    private static class PendingChainBuild {
+
+        private final IIndependentStarlightSource source;
+        private final BlockPos sourcePos;
+        private final NetworkSnapshot snapshot;
+
+        private volatile TransmissionChain chain = null;
+        private boolean stale = false;
+
+        private PendingChainBuild(IIndependentStarlightSource source, BlockPos sourcePos, NetworkSnapshot snapshot) {
+            this.source = source;
+            this.sourcePos = sourcePos;
+            this.snapshot = snapshot;
+        }
     }
 
 }
@@ -14,19 +14,25 @@ import hellfirepvp.astralsorcery.client.effect.handler.EffectHelper;
 import hellfirepvp.astralsorcery.client.lib.EffectTemplatesAS;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
 import hellfirepvp.astralsorcery.common.crafting.recipe.BlockTransmutation;
-import hellfirepvp.astralsorcery.common.crafting.recipe.BlockTransmutationContext;
+import hellfirepvp.astralsorcery.common.data.config.entry.LightNetworkConfig;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
 import hellfirepvp.astralsorcery.common.lib.ColorsAS;
 import hellfirepvp.astralsorcery.common.lib.RecipeTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkRegistry;
-import hellfirepvp.astralsorcery.common.util.block.WorldBlockPos;
+import hellfirepvp.astralsorcery.common.util.RecipeHelper;
 import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
 import hellfirepvp.astralsorcery.common.util.item.ItemUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.RecipeManager;
+import net.minecraft.util.RegistryKey;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
@@ -34,7 +40,9 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.common.util.Constants;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -47,75 +55,177 @@ import java.util.Random;
  */
 public class BlockTransmutationHandler implements StarlightNetworkRegistry.IStarlightBlockHandler {
 
-    private static final Map<WorldBlockPos, ActiveTransmutation> runningTransmutations = new HashMap<>();
+    //After 15 seconds no charge, we throw it all away.
+    private static final int IDLE_TICK_THRESHOLD = 15 * 20;
+    private static final int MAX_COALESCED_EFFECTS = 8;
+
+    //Per dimension, keyed by BlockPos.toLong.
+    private static final Map<RegistryKey<World>, DimensionTransmutations> runningTransmutations = new HashMap<>();
+    private static RecipeIndex recipeIndex = null;
 
     @Override
     public boolean isApplicable(World world, BlockPos pos, BlockState state, IWeakConstellation starlightType) {
-        return RecipeTypesAS.TYPE_BLOCK_TRANSMUTATION.findRecipe(new BlockTransmutationContext(world, pos, state, starlightType)) != null;
+        return findRecipe(state, starlightType) != null;
     }
 
     @Override
     public void receiveStarlight(World world, Random rand, BlockPos pos, BlockState state, IWeakConstellation starlightType, double amount) {
-        BlockTransmutation recipe = RecipeTypesAS.TYPE_BLOCK_TRANSMUTATION.findRecipe(new BlockTransmutationContext(world, pos, state, starlightType));
+        BlockTransmutation recipe = findRecipe(state, starlightType);
         if (recipe == null) {
             return; //Wait what
         }
 
-        WorldBlockPos at = WorldBlockPos.wrapServer(world, pos);
-        ActiveTransmutation activeRecipe = runningTransmutations.get(at);
+        long gameTime = world.getGameTime();
+        DimensionTransmutations transmutations = runningTransmutations.computeIfAbsent(world.getDimensionKey(), key -> new DimensionTransmutations());
+        transmutations.evictIdle(gameTime);
+
+        long key = pos.toLong();
+        ActiveTransmutation activeRecipe = transmutations.active.get(key);
         if (activeRecipe == null || !activeRecipe.recipe.equals(recipe)) {
-            activeRecipe = new ActiveTransmutation(recipe);
-            runningTransmutations.put(at, activeRecipe);
+            activeRecipe = new ActiveTransmutation(recipe, gameTime);
+            transmutations.active.put(key, activeRecipe);
         }
 
-        activeRecipe.acceptStarlight(amount);
+        activeRecipe.acceptStarlight(amount, gameTime);
+        activeRecipe.pendingEffects++;
 
+        if (activeRecipe.isFinished() && activeRecipe.finish(world, pos)) {
+            transmutations.active.remove(key);
+            sendEffect(world, pos, activeRecipe.pendingEffects);
+        } else if (gameTime - activeRecipe.lastEffectTick >= LightNetworkConfig.CONFIG.transmutationEffectInterval.get()) {
+            sendEffect(world, pos, activeRecipe.pendingEffects);
+            activeRecipe.lastEffectTick = gameTime;
+            activeRecipe.pendingEffects = 0;
+        }
+    }
+
+    private static void sendEffect(World world, BlockPos pos, int effects) {
+        int count = Math.min(effects, MAX_COALESCED_EFFECTS);
         PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.BLOCK_TRANSMUTATION_TICK)
-                .addData(buf -> ByteBufUtils.writePos(buf, pos));
-        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, pos, 24));
+                .addData(buf -> {
+                    ByteBufUtils.writePos(buf, pos);
+                    buf.writeByte(count);
+                });
+        PlayEffectBatcher.sendToAllAround(pkt, world, pos, 24);
+    }
 
-        if (activeRecipe.isFinished() && activeRecipe.finish(world, pos)) {
-            runningTransmutations.remove(at);
+    @Nullable
+    private static BlockTransmutation findRecipe(BlockState state, IWeakConstellation starlightType) {
+        RecipeManager mgr = RecipeHelper.getRecipeManager();
+        int generation = StarlightNetworkRegistry.getHandlerGeneration();
+        if (recipeIndex == null || recipeIndex.recipeManager != mgr || recipeIndex.generation != generation) {
+            recipeIndex = new RecipeIndex(mgr, generation, RecipeTypesAS.TYPE_BLOCK_TRANSMUTATION.getAllRecipes());
         }
+        return recipeIndex.find(state, starlightType);
+    }
+
+    public static void informWorldUnload(World world) {
+        runningTransmutations.remove(world.getDimensionKey());
+    }
+
+    public static void clearServer() {
+        runningTransmutations.clear();
+        recipeIndex = null;
     }
 
     @OnlyIn(Dist.CLIENT)
     public static void playTransmutation(PktPlayEffect effect) {
         Random rand = new Random();
         BlockPos pos = ByteBufUtils.readPos(effect.getExtraData());
+        int count = effect.getExtraData().readByte();
+
+        for (int i = 0; i < count; i++) {
+            EffectHelper.of(EffectTemplatesAS.GENERIC_PARTICLE)
+                    .spawn(new Vector3(pos).add(rand.nextFloat(), rand.nextFloat(), rand.nextFloat()))
+                    .setAlphaMultiplier(1F)
+                    .alpha(VFXAlphaFunction.FADE_OUT)
+                    .color(VFXColorFunction.constant(ColorsAS.ROCK_CRYSTAL))
+                    .setScaleMultiplier(0.2F + rand.nextFloat() * 0.15F)
+                    .setGravityStrength(-0.0014F)
+                    .setMaxAge(40 + rand.nextInt(20));
+        }
+    }
+
+    //Recipes matching a blockstate, in the order of the recipe manager; built lazily per state
+    //and thrown away once the recipes get reloaded.
+    private static class RecipeIndex {
+
+        private static final BlockTransmutation[] NONE = new BlockTransmutation[0];
+
+        @Nullable
+        private final RecipeManager recipeManager;
+        private final int generation;
+        private final List<BlockTransmutation> recipes;
+        private final Reference2ObjectMap<BlockState, BlockTransmutation[]> recipesByState = new Reference2ObjectOpenHashMap<>();
 
-        EffectHelper.of(EffectTemplatesAS.GENERIC_PARTICLE)
-                .spawn(new Vector3(pos).add(rand.nextFloat(), rand.nextFloat(), rand.nextFloat()))
-                .setAlphaMultiplier(1F)
-                .alpha(VFXAlphaFunction.FADE_OUT)
-                .color(VFXColorFunction.constant(ColorsAS.ROCK_CRYSTAL))
-                .setScaleMultiplier(0.2F + rand.nextFloat() * 0.15F)
-                .setGravityStrength(-0.0014F)
-                .setMaxAge(40 + rand.nextInt(20));
+        private RecipeIndex(@Nullable RecipeManager recipeManager, int generation, List<BlockTransmutation> recipes) {
+            this.recipeManager = recipeManager;
+            this.generation = generation;
+            this.recipes = recipes;
+        }
+
+        @Nullable
+        private BlockTransmutation find(BlockState state, IWeakConstellation starlightType) {
+            BlockTransmutation[] candidates = this.recipesByState.get(state);
+            if (candidates == null) {
+                candidates = this.recipes.stream()
+                        .filter(recipe -> recipe.matchesState(state))
+                        .toArray(BlockTransmutation[]::new);
+                if (candidates.length == 0) {
+                    candidates = NONE;
+                }
+                this.recipesByState.put(state, candidates);
+            }
+            for (BlockTransmutation recipe : candidates) {
+                if (recipe.matchesConstellation(starlightType)) {
+                    return recipe;
+                }
+            }
+            return null;
+        }
     }
 
-    private static class ActiveTransmutation {
+    private static class DimensionTransmutations {
 
-        //After 15 seconds no charge, we throw it all away.
-        private static final int MS_THRESHOLD = 15_000;
+        private final Long2ObjectMap<ActiveTransmutation> active = new Long2ObjectOpenHashMap<>();
+        private long nextEviction = 0;
+
+        //Idle transmutations would lose their progress on the next charge anyway.
+        private void evictIdle(long gameTime) {
+            if (gameTime < this.nextEviction) {
+                return;
+            }
+            this.nextEviction = gameTime + IDLE_TICK_THRESHOLD;
+            this.active.values().removeIf(transmutation -> transmutation.isIdle(gameTime));
+        }
+    }
+
+    private static class ActiveTransmutation {
 
         private final BlockTransmutation recipe;
-        private long lastMillisecondStarlightReceived = System.currentTimeMillis();
+        private long lastTickStarlightReceived;
         private double accumulatedStarlight = 0;
 
-        private ActiveTransmutation(BlockTransmutation recipe) {
+        private long lastEffectTick;
+        private int pendingEffects = 0;
+
+        private ActiveTransmutation(BlockTransmutation recipe, long gameTime) {
             this.recipe = recipe;
+            this.lastTickStarlightReceived = gameTime;
+            this.lastEffectTick = gameTime;
+        }
+
+        private boolean isIdle(long gameTime) {
+            return gameTime - this.lastTickStarlightReceived >= IDLE_TICK_THRESHOLD;
         }
 
-        private void acceptStarlight(double amount) {
-            long msReceived = System.currentTimeMillis();
-            long receiveDiff = msReceived - this.lastMillisecondStarlightReceived;
-            if (receiveDiff >= MS_THRESHOLD) {
+        private void acceptStarlight(double amount, long gameTime) {
+            if (this.isIdle(gameTime)) {
                 this.accumulatedStarlight = 0;
             }
 
             this.accumulatedStarlight += amount;
-            this.lastMillisecondStarlightReceived = msReceived;
+            this.lastTickStarlightReceived = gameTime;
         }
 
         private boolean isFinished() {
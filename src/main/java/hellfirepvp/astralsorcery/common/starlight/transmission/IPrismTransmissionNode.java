@@ -14,6 +14,7 @@ import hellfirepvp.astralsorcery.common.lib.DataAS;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionProvider;
 import hellfirepvp.astralsorcery.common.util.block.ILocatable;
+import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
@@ -130,9 +131,16 @@ public interface IPrismTransmissionNode extends ILocatable {
     public TransmissionProvider getProvider();
 
     //Should recreate the exact state from when it was written.
-    public void readFromNBT(CompoundNBT compound);
+    //The position is the one the network data stored the node at, the node doesn't store it itself.
+    public void readFromNBT(CompoundNBT compound, BlockPos pos);
 
-    //Should save all data that's needed to recreate the state accordingly.
+    //Reads a node saved before the network data had a format version.
+    //Those stored their own position, and their sources and links as lists of positions.
+    default public void readLegacyNBT(CompoundNBT compound) {
+        readFromNBT(compound, NBTHelper.readBlockPosFromNBT(compound));
+    }
+
+    //Should save all data that's needed to recreate the state accordingly, except for the node's position.
     public void writeToNBT(CompoundNBT compound);
 
 }
@@ -91,6 +91,7 @@ public class TransmissionNetworkHelper {
             }
         }
         thisNode.notifyUnlink(world, to);
+        WorldNetworkHandler.getNetworkHandler(world).updateBeamSegments(thisNode);
         if (handle != null) {
             handle.notifyTransmissionNodeChange(thisNode);
         }
@@ -113,6 +114,7 @@ public class TransmissionNetworkHelper {
             }
         }
         thisNode.notifyLink(world, to);
+        WorldNetworkHandler.getNetworkHandler(world).updateBeamSegments(thisNode);
         if (handle != null) {
             handle.notifyTransmissionNodeChange(thisNode);
         }
@@ -16,6 +16,7 @@ import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
 import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionProvider;
 import hellfirepvp.astralsorcery.common.util.RaytraceAssist;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import hellfirepvp.astralsorcery.common.util.world.IWorldView;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.util.math.BlockPos;
@@ -23,6 +24,7 @@ import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -34,6 +36,8 @@ import java.util.*;
  */
 public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
 
+    private static final byte FLAG_IGNORE_BLOCK_COLLISION = 1;
+
     private boolean ignoreBlockCollision = false;
 
     private BlockPos thisPos;
@@ -78,16 +82,24 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
 
     @Override
     public void notifyLink(World world, BlockPos pos) {
+        this.notifyLink(IWorldView.of(world), pos);
+    }
+
+    public void notifyLink(IWorldView world, BlockPos pos) {
         addLink(world, pos, true, false);
     }
 
-    private void addLink(World world, BlockPos pos, boolean doRayCheck, boolean previousRayState) {
+    private void addLink(@Nullable IWorldView world, BlockPos pos, boolean doRayCheck, boolean previousRayState) {
         PrismNext nextNode = new PrismNext(this, world, thisPos, pos, doRayCheck, previousRayState);
         this.nextNodes.put(pos, nextNode);
     }
 
     @Override
     public boolean notifyBlockChange(World world, BlockPos at) {
+        return this.notifyBlockChange(IWorldView.of(world), at);
+    }
+
+    public boolean notifyBlockChange(IWorldView world, BlockPos at) {
         boolean anyChange = false;
         for (PrismNext next : nextNodes.values()) {
             if (next.notifyBlockPlace(world, thisPos, at)) anyChange = true;
@@ -125,9 +137,28 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
     }
 
     @Override
-    public void readFromNBT(CompoundNBT compound) {
-        this.thisPos = NBTHelper.readBlockPosFromNBT(compound);
+    public void readFromNBT(CompoundNBT compound, BlockPos pos) {
         this.sourcesToThis.clear();
+        this.nextNodes.clear();
+
+        this.thisPos = pos;
+        this.ignoreBlockCollision = (compound.getByte("flags") & FLAG_IGNORE_BLOCK_COLLISION) != 0;
+
+        this.sourcesToThis.addAll(NBTHelper.readBlockPosOffsets(compound, "sourceOffsets", this.thisPos));
+
+        List<BlockPos> nextPositions = NBTHelper.readBlockPosOffsets(compound, "nextOffsets", this.thisPos);
+        BitSet reachable = BitSet.valueOf(compound.getLongArray("nextReachable"));
+        for (int i = 0; i < nextPositions.size(); i++) {
+            addLink(null, nextPositions.get(i), false, reachable.get(i)); //Rebuild link.
+        }
+    }
+
+    @Override
+    public void readLegacyNBT(CompoundNBT compound) {
+        this.sourcesToThis.clear();
+        this.nextNodes.clear();
+
+        this.thisPos = NBTHelper.readBlockPosFromNBT(compound);
         this.ignoreBlockCollision = compound.getBoolean("ignoreBlockCollision");
 
         ListNBT list = compound.getList("sources", Constants.NBT.TAG_COMPOUND);
@@ -146,26 +177,18 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
 
     @Override
     public void writeToNBT(CompoundNBT compound) {
-        NBTHelper.writeBlockPosToNBT(thisPos, compound);
-        compound.putBoolean("ignoreBlockCollision", this.ignoreBlockCollision);
-
-        ListNBT sources = new ListNBT();
-        for (BlockPos source : sourcesToThis) {
-            CompoundNBT comp = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(source, comp);
-            sources.add(comp);
-        }
-        compound.put("sources", sources);
-
-        ListNBT nextList = new ListNBT();
-        for (BlockPos next : nextNodes.keySet()) {
-            PrismNext prism = nextNodes.get(next);
-            CompoundNBT pos = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(next, pos);
-            pos.putBoolean("rayState", prism.reachable);
-            nextList.add(pos);
+        compound.putByte("flags", (byte) (this.ignoreBlockCollision ? FLAG_IGNORE_BLOCK_COLLISION : 0));
+
+        NBTHelper.writeBlockPosOffsets(compound, "sourceOffsets", thisPos, sourcesToThis);
+
+        List<BlockPos> nextPositions = new ArrayList<>(nextNodes.size());
+        BitSet reachable = new BitSet(nextNodes.size());
+        for (Map.Entry<BlockPos, PrismNext> next : nextNodes.entrySet()) {
+            reachable.set(nextPositions.size(), next.getValue().reachable);
+            nextPositions.add(next.getKey());
         }
-        compound.put("nextList", nextList);
+        NBTHelper.writeBlockPosOffsets(compound, "nextOffsets", thisPos, nextPositions);
+        compound.putLongArray("nextReachable", reachable.toLongArray());
     }
 
     private static class PrismNext {
@@ -176,7 +199,7 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
         private final BlockPos pos;
         private RaytraceAssist rayAssist;
 
-        private PrismNext(SimplePrismTransmissionNode parent, World world, BlockPos start, BlockPos end, boolean doRayTest, boolean oldRayState) {
+        private PrismNext(SimplePrismTransmissionNode parent, @Nullable IWorldView world, BlockPos start, BlockPos end, boolean doRayTest, boolean oldRayState) {
             this.parent = parent;
             this.pos = end;
             this.rayAssist = new RaytraceAssist(start, end);
@@ -188,7 +211,7 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
             this.distanceSq = end.distanceSq(Vector3d.copy(start), false);
         }
 
-        private boolean notifyBlockPlace(World world, BlockPos connect, BlockPos at) {
+        private boolean notifyBlockPlace(IWorldView world, BlockPos connect, BlockPos at) {
             Vector3d bPosAt = Vector3d.copy(at);
             double dstStart = connect.distanceSq(bPosAt, false);
             double dstEnd = pos.distanceSq(bPosAt, false);
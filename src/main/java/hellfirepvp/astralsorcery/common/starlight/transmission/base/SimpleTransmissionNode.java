@@ -17,6 +17,7 @@ import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
 import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionProvider;
 import hellfirepvp.astralsorcery.common.util.RaytraceAssist;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import hellfirepvp.astralsorcery.common.util.world.IWorldView;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.util.math.BlockPos;
@@ -24,6 +25,7 @@ import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -35,6 +37,9 @@ import java.util.*;
  */
 public class SimpleTransmissionNode implements ITransmissionNode {
 
+    private static final byte FLAG_IGNORE_BLOCK_COLLISION = 1;
+    private static final byte FLAG_NEXT_REACHABLE = 1 << 1;
+
     private boolean ignoreBlockCollision = false;
 
     private boolean nextReachable = false;
@@ -85,10 +90,14 @@ public class SimpleTransmissionNode implements ITransmissionNode {
 
     @Override
     public void notifyLink(World world, BlockPos pos) {
+        this.notifyLink(IWorldView.of(world), pos);
+    }
+
+    public void notifyLink(IWorldView world, BlockPos pos) {
         addLink(world, pos, true, false);
     }
 
-    private void addLink(World world, BlockPos pos, boolean doRayTest, boolean oldRayState) {
+    private void addLink(@Nullable IWorldView world, BlockPos pos, boolean doRayTest, boolean oldRayState) {
         this.nextPos = pos;
         this.assistNext = new RaytraceAssist(thisPos, nextPos);
         if (doRayTest) {
@@ -101,6 +110,10 @@ public class SimpleTransmissionNode implements ITransmissionNode {
 
     @Override
     public boolean notifyBlockChange(World world, BlockPos at) {
+        return this.notifyBlockChange(IWorldView.of(world), at);
+    }
+
+    public boolean notifyBlockChange(IWorldView world, BlockPos at) {
         if (nextPos == null) {
             return false;
         }
@@ -144,9 +157,26 @@ public class SimpleTransmissionNode implements ITransmissionNode {
     }
 
     @Override
-    public void readFromNBT(CompoundNBT compound) {
-        this.thisPos = NBTHelper.readBlockPosFromNBT(compound);
+    public void readFromNBT(CompoundNBT compound, BlockPos pos) {
         this.sourcesToThis.clear();
+
+        this.thisPos = pos;
+        byte flags = compound.getByte("flags");
+        this.ignoreBlockCollision = (flags & FLAG_IGNORE_BLOCK_COLLISION) != 0;
+
+        this.sourcesToThis.addAll(NBTHelper.readBlockPosOffsets(compound, "sourceOffsets", this.thisPos));
+
+        List<BlockPos> next = NBTHelper.readBlockPosOffsets(compound, "nextOffset", this.thisPos);
+        if (!next.isEmpty()) {
+            addLink(null, next.get(0), false, (flags & FLAG_NEXT_REACHABLE) != 0);
+        }
+    }
+
+    @Override
+    public void readLegacyNBT(CompoundNBT compound) {
+        this.sourcesToThis.clear();
+
+        this.thisPos = NBTHelper.readBlockPosFromNBT(compound);
         this.ignoreBlockCollision = compound.getBoolean("ignoreBlockCollision");
 
         ListNBT list = compound.getList("sources", Constants.NBT.TAG_COMPOUND);
@@ -164,22 +194,18 @@ public class SimpleTransmissionNode implements ITransmissionNode {
 
     @Override
     public void writeToNBT(CompoundNBT compound) {
-        NBTHelper.writeBlockPosToNBT(thisPos, compound);
-        compound.putBoolean("ignoreBlockCollision", this.ignoreBlockCollision);
-
-        ListNBT sources = new ListNBT();
-        for (BlockPos source : sourcesToThis) {
-            CompoundNBT comp = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(source, comp);
-            sources.add(comp);
+        byte flags = 0;
+        if (this.ignoreBlockCollision) {
+            flags |= FLAG_IGNORE_BLOCK_COLLISION;
+        }
+        if (this.nextPos != null && this.nextReachable) {
+            flags |= FLAG_NEXT_REACHABLE;
         }
-        compound.put("sources", sources);
+        compound.putByte("flags", flags);
 
+        NBTHelper.writeBlockPosOffsets(compound, "sourceOffsets", thisPos, sourcesToThis);
         if (nextPos != null) {
-            CompoundNBT pos = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(nextPos, pos);
-            pos.putBoolean("rayState", nextReachable);
-            compound.put("nextPos", pos);
+            NBTHelper.writeBlockPosOffsets(compound, "nextOffset", thisPos, Collections.singletonList(nextPos));
         }
     }
 
@@ -88,7 +88,16 @@ public abstract class SimpleTransmissionReceiver<T extends TileReceiverBase<?>>
     }
 
     @Override
-    public void readFromNBT(CompoundNBT compound) {
+    public void readFromNBT(CompoundNBT compound, BlockPos pos) {
+        this.sourcesToThis.clear();
+
+        this.thisPos = pos;
+        this.needsTileSync = compound.getBoolean("needsTileSync");
+        this.sourcesToThis.addAll(NBTHelper.readBlockPosOffsets(compound, "sourceOffsets", this.thisPos));
+    }
+
+    @Override
+    public void readLegacyNBT(CompoundNBT compound) {
         this.sourcesToThis.clear();
 
         this.thisPos = NBTHelper.readBlockPosFromNBT(compound);
@@ -102,16 +111,8 @@ public abstract class SimpleTransmissionReceiver<T extends TileReceiverBase<?>>
 
     @Override
     public void writeToNBT(CompoundNBT compound) {
-        NBTHelper.writeBlockPosToNBT(thisPos, compound);
         compound.putBoolean("needsTileSync", this.needsTileSync);
-
-        ListNBT sources = new ListNBT();
-        for (BlockPos source : sourcesToThis) {
-            CompoundNBT comp = new CompoundNBT();
-            NBTHelper.writeBlockPosToNBT(source, comp);
-            sources.add(comp);
-        }
-        compound.put("sources", sources);
+        NBTHelper.writeBlockPosOffsets(compound, "sourceOffsets", thisPos, sourcesToThis);
     }
 
     @Override
@@ -74,9 +74,18 @@ public class CrystalPrismTransmissionNode extends SimplePrismTransmissionNode {
     }
 
     @Override
-    public void readFromNBT(CompoundNBT compound) {
-        super.readFromNBT(compound);
+    public void readFromNBT(CompoundNBT compound, BlockPos pos) {
+        super.readFromNBT(compound, pos);
+        this.readCrystalData(compound);
+    }
+
+    @Override
+    public void readLegacyNBT(CompoundNBT compound) {
+        super.readLegacyNBT(compound);
+        this.readCrystalData(compound);
+    }
 
+    private void readCrystalData(CompoundNBT compound) {
         this.attributes = CrystalAttributes.getCrystalAttributes(compound);
         this.additionalLoss = compound.getFloat("lossMultiplier");
     }
@@ -26,7 +26,7 @@ import hellfirepvp.astralsorcery.common.fluid.FluidLiquidStarlight;
 import hellfirepvp.astralsorcery.common.lib.BlocksAS;
 import hellfirepvp.astralsorcery.common.lib.RecipeTypesAS;
 import hellfirepvp.astralsorcery.common.lib.TileEntityTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.base.TileEntityTick;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -155,7 +155,7 @@ public class TileChalice extends TileEntityTick {
                         ByteBufUtils.writeVector(buf, target);
                         ByteBufUtils.writeFluidStack(buf, otherFluid);
                     });
-                    PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(getWorld(), target.toBlockPos(), 32));
+                    PlayEffectBatcher.sendToAllAround(pkt, getWorld(), target.toBlockPos(), 32);
                     return;
                 }
                 recipes.remove(recipe);
@@ -196,7 +196,7 @@ public class TileChalice extends TileEntityTick {
                             ByteBufUtils.writeVector(buf, thisVector);
                             ByteBufUtils.writeFluidStack(buf, actual);
                         });
-                        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(getWorld(), wellVec.toBlockPos(), 32));
+                        PlayEffectBatcher.sendToAllAround(pkt, getWorld(), wellVec.toBlockPos(), 32);
                         return true;
                     }
                 }
@@ -241,7 +241,7 @@ public class TileChalice extends TileEntityTick {
                             ByteBufUtils.writeVector(buf, thisVector);
                             ByteBufUtils.writeFluidStack(buf, actual);
                         });
-                        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(getWorld(), wellVec.toBlockPos(), 32));
+                        PlayEffectBatcher.sendToAllAround(pkt, getWorld(), wellVec.toBlockPos(), 32);
                         return true;
                     }
                     return false; //Cannot fill from any other either in this case.
@@ -14,7 +14,7 @@ import hellfirepvp.astralsorcery.common.crafting.nojson.fountain.FountainEffect;
 import hellfirepvp.astralsorcery.common.fluid.FluidLiquidStarlight;
 import hellfirepvp.astralsorcery.common.lib.StructureTypesAS;
 import hellfirepvp.astralsorcery.common.lib.TileEntityTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.structure.types.StructureType;
 import hellfirepvp.astralsorcery.common.tile.base.TileEntityTick;
@@ -104,7 +104,7 @@ public class TileFountain extends TileEntityTick {
                             ByteBufUtils.writeEnumValue(buf, segment);
                             ByteBufUtils.writeEnumValue(buf, nextSegment);
                         });
-                        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, pos, 32));
+                        PlayEffectBatcher.sendToAllAround(pkt, world, pos, 32);
                     }
                     effect.tick(this, ctx, this.tickActiveFountainEffect, LogicalSide.SERVER, this.getSegment());
                 }
@@ -198,7 +198,7 @@ public class TileFountain extends TileEntityTick {
         prevEffect.onReplace(this, prevContext, newEffect, LogicalSide.SERVER);
         PktPlayEffect pkt = new PktPlayEffect(PktPlayEffect.Type.FOUNTAIN_REPLACE_EFFECT)
                 .addData(buf -> ByteBufUtils.writePos(buf, pos));
-        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(world, pos, 32));
+        PlayEffectBatcher.sendToAllAround(pkt, world, pos, 32);
 
     }
 
@@ -21,7 +21,7 @@ import hellfirepvp.astralsorcery.common.data.config.base.ConfigEntry;
 import hellfirepvp.astralsorcery.common.lib.BlocksAS;
 import hellfirepvp.astralsorcery.common.lib.ConstellationsAS;
 import hellfirepvp.astralsorcery.common.lib.TileEntityTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.tile.base.TileAreaOfInfluence;
 import hellfirepvp.astralsorcery.common.tile.base.network.TileReceiverBase;
@@ -118,7 +118,7 @@ public class TileTreeBeacon extends TileReceiverBase<StarlightReceiverTreeBeacon
                                 ByteBufUtils.writeVector(buf, new Vector3(this.getPos()).add(0.5, 0.5, 0.5));
                                 buf.writeInt(this.getColor(LogicalSide.SERVER).getRGB());
                             });
-                    PacketChannel.CHANNEL.sendToAllAround(effect, PacketChannel.pointFromPos(this.getWorld(), this.getPos(), 32));
+                    PlayEffectBatcher.sendToAllAround(effect, this.getWorld(), this.getPos(), 32);
                 }
             }
         }
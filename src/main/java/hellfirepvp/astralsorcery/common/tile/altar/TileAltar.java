@@ -23,7 +23,7 @@ import hellfirepvp.astralsorcery.common.item.wand.WandInteractable;
 import hellfirepvp.astralsorcery.common.lib.RecipeTypesAS;
 import hellfirepvp.astralsorcery.common.lib.SoundsAS;
 import hellfirepvp.astralsorcery.common.lib.TileEntityTypesAS;
-import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.PlayEffectBatcher;
 import hellfirepvp.astralsorcery.common.network.play.server.PktPlayEffect;
 import hellfirepvp.astralsorcery.common.structure.types.StructureType;
 import hellfirepvp.astralsorcery.common.tile.TileSpectralRelay;
@@ -237,7 +237,7 @@ public class TileAltar extends TileReceiverBase<StarlightReceiverAltar> implemen
                     ByteBufUtils.writePos(buf, this.getPos());
                     buf.writeBoolean(isChaining);
                 });
-        PacketChannel.CHANNEL.sendToAllAround(pkt, PacketChannel.pointFromPos(this.getWorld(), this.getPos(), 32));
+        PlayEffectBatcher.sendToAllAround(pkt, this.getWorld(), this.getPos(), 32);
 
         this.knownRecipes.add(recipeName);
         markForUpdate();
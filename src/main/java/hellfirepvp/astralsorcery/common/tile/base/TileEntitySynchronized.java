@@ -15,15 +15,22 @@ import net.minecraft.block.Blocks;
 import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.nbt.StringNBT;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.server.SUpdateTileEntityPacket;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.tileentity.TileEntityType;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.network.PacketDistributor;
 
+import javax.annotation.Nullable;
 import java.util.Random;
 
 /**
@@ -38,6 +45,18 @@ public abstract class TileEntitySynchronized extends TileEntity implements ILoca
     protected static final Random rand = new Random();
     protected static final AxisAlignedBB BOX = new AxisAlignedBB(0, 0, 0, 1, 1, 1);
 
+    private static final String KEY_SYNC_CHANGED = "as_sync_changed";
+    private static final String KEY_SYNC_REMOVED = "as_sync_removed";
+
+    //The network data all players watching this tile were sent last, updates only contain the entries that changed since.
+    @Nullable
+    private CompoundNBT lastSyncedData = null;
+    private long lastSyncTick = Long.MIN_VALUE;
+
+    //The network data last received on the client, updates are merged into it.
+    @Nullable
+    private CompoundNBT lastReceivedData = null;
+
     protected TileEntitySynchronized(TileEntityType<?> tileEntityTypeIn) {
         super(tileEntityTypeIn);
     }
@@ -80,41 +99,123 @@ public abstract class TileEntitySynchronized extends TileEntity implements ILoca
     //Only Chunk-write
     public void writeSaveNBT(CompoundNBT compound) {}
 
-    @Override
-    public final SUpdateTileEntityPacket getUpdatePacket() {
+    private CompoundNBT writeNetworkData() {
         CompoundNBT compound = new CompoundNBT();
         super.write(compound);
         writeCustomNBT(compound);
         writeNetNBT(compound);
+        return compound;
+    }
+
+    //Sent to every player watching this tile, so they all have the same data to apply later updates to.
+    @Override
+    public final SUpdateTileEntityPacket getUpdatePacket() {
+        CompoundNBT compound = writeNetworkData();
+        this.lastSyncedData = compound;
+        if (getWorld() != null) {
+            this.lastSyncTick = getWorld().getGameTime();
+        }
         return new SUpdateTileEntityPacket(getPos(), 255, compound);
     }
 
+    //Players starting to watch this tile get the same data as everyone else, changes not sent yet reach all of them with the next update.
+    //Changes made without markForUpdate are scheduled here, otherwise they'd never reach players loading the chunk later.
     @Override
     public CompoundNBT getUpdateTag() {
+        if (this.lastSyncedData != null) {
+            if (getWorld() != null && !getWorld().isRemote() && !writeNetworkData().equals(this.lastSyncedData)) {
+                TileSyncHandler.getInstance().scheduleSync(this);
+            }
+            return this.lastSyncedData.copy();
+        }
         CompoundNBT compound = new CompoundNBT();
         super.write(compound);
         writeCustomNBT(compound);
         return compound;
     }
 
+    @Override
+    public void handleUpdateTag(BlockState state, CompoundNBT tag) {
+        super.handleUpdateTag(state, tag);
+        this.lastReceivedData = tag.copy();
+    }
+
     public final void onDataPacket(NetworkManager manager, SUpdateTileEntityPacket packet) {
         super.onDataPacket(manager, packet);
-        readCustomNBT(packet.getNbtCompound());
-        readNetNBT(packet.getNbtCompound());
+        CompoundNBT compound = packet.getNbtCompound();
+        if (compound.contains(KEY_SYNC_CHANGED)) {
+            CompoundNBT merged = this.lastReceivedData != null ? this.lastReceivedData : new CompoundNBT();
+            ListNBT removed = compound.getList(KEY_SYNC_REMOVED, Constants.NBT.TAG_STRING);
+            for (int i = 0; i < removed.size(); i++) {
+                merged.remove(removed.getString(i));
+            }
+            CompoundNBT changed = compound.getCompound(KEY_SYNC_CHANGED);
+            for (String key : changed.keySet()) {
+                merged.put(key, changed.get(key));
+            }
+            this.lastReceivedData = merged;
+            compound = merged;
+        } else {
+            this.lastReceivedData = compound.copy();
+        }
+        readCustomNBT(compound);
+        readNetNBT(compound);
         this.onDataReceived();
     }
 
     @OnlyIn(Dist.CLIENT)
     protected void onDataReceived() {}
 
+    //On the server, the tile's data is sent at the end of the tick at most every few ticks, and only if it changed.
     public void markForUpdate() {
         if (getWorld() != null) {
-            BlockState thisState = this.getBlockState();
-            getWorld().notifyBlockUpdate(getPos(), thisState, thisState, 3);
+            if (getWorld().isRemote()) {
+                BlockState thisState = this.getBlockState();
+                getWorld().notifyBlockUpdate(getPos(), thisState, thisState, 3);
+            } else {
+                TileSyncHandler.getInstance().scheduleSync(this);
+            }
         }
         markDirty();
     }
 
+    boolean canSync(int syncInterval) {
+        return getWorld() != null && getWorld().getGameTime() >= this.lastSyncTick + syncInterval;
+    }
+
+    //Sends the top-level entries of the network data that changed since the last update to everyone watching this tile.
+    void sendSync() {
+        CompoundNBT compound = writeNetworkData();
+        CompoundNBT previous = this.lastSyncedData;
+        this.lastSyncedData = compound;
+        this.lastSyncTick = getWorld().getGameTime();
+
+        CompoundNBT pktData = compound;
+        if (previous != null) {
+            CompoundNBT changed = new CompoundNBT();
+            for (String key : compound.keySet()) {
+                INBT value = compound.get(key);
+                if (!value.equals(previous.get(key))) {
+                    changed.put(key, value);
+                }
+            }
+            ListNBT removed = new ListNBT();
+            for (String key : previous.keySet()) {
+                if (!compound.contains(key)) {
+                    removed.add(StringNBT.valueOf(key));
+                }
+            }
+            if (changed.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            pktData = new CompoundNBT();
+            pktData.put(KEY_SYNC_CHANGED, changed);
+            pktData.put(KEY_SYNC_REMOVED, removed);
+        }
+        Chunk chunk = getWorld().getChunkAt(getPos());
+        PacketDistributor.TRACKING_CHUNK.with(() -> chunk).send(new SUpdateTileEntityPacket(getPos(), 255, pktData));
+    }
+
     public ItemEntity dropItemOnTop(ItemStack stack) {
         return ItemUtils.dropItem(getWorld(), getPos().getX() + 0.5, getPos().getY() + 1.5, getPos().getZ() + 0.5, stack);
     }
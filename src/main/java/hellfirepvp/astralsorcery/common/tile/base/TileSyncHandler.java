@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.tile.base;
+
+import hellfirepvp.astralsorcery.common.data.config.entry.GeneralConfig;
+import hellfirepvp.observerlib.common.util.tick.ITickHandler;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: TileSyncHandler
+ * Created by agent
+ * Date: 18.10.2026 / 05:40
+ */
+//Collects the tiles marked for an update and sends their changes at the end of the world's tick.
+//A tile marked every tick is only sent every few ticks, its changes in between are sent together.
+public class TileSyncHandler implements ITickHandler {
+
+    private static final TileSyncHandler instance = new TileSyncHandler();
+    private static final Map<RegistryKey<World>, Set<TileEntitySynchronized>> pendingTiles = new ConcurrentHashMap<>();
+
+    private TileSyncHandler() {}
+
+    public static TileSyncHandler getInstance() {
+        return instance;
+    }
+
+    void scheduleSync(TileEntitySynchronized tile) {
+        pendingTiles.computeIfAbsent(tile.getWorld().getDimensionKey(), k -> new ReferenceLinkedOpenHashSet<>()).add(tile);
+    }
+
+    @Override
+    public void tick(TickEvent.Type type, Object... context) {
+        World world = (World) context[0];
+        if (world.isRemote()) {
+            return;
+        }
+        Set<TileEntitySynchronized> tiles = pendingTiles.get(world.getDimensionKey());
+        if (tiles == null || tiles.isEmpty()) {
+            return;
+        }
+
+        int syncInterval = GeneralConfig.CONFIG.tileSyncInterval.get();
+        Iterator<TileEntitySynchronized> iterator = tiles.iterator();
+        while (iterator.hasNext()) {
+            TileEntitySynchronized tile = iterator.next();
+            BlockPos pos = tile.getPos();
+            if (tile.isRemoved() || tile.getWorld() != world || !world.isBlockLoaded(pos) || world.getTileEntity(pos) != tile) {
+                iterator.remove();
+                continue;
+            }
+            if (tile.canSync(syncInterval)) {
+                tile.sendSync();
+                iterator.remove();
+            }
+        }
+    }
+
+    public void informWorldUnload(World world) {
+        pendingTiles.remove(world.getDimensionKey());
+    }
+
+    public void clearServer() {
+        pendingTiles.clear();
+    }
+
+    @Override
+    public EnumSet<TickEvent.Type> getHandledTypes() {
+        return EnumSet.of(TickEvent.Type.WORLD);
+    }
+
+    @Override
+    public boolean canFire(TickEvent.Phase phase) {
+        return phase == TickEvent.Phase.END;
+    }
+
+    @Override
+    public String getName() {
+        return "Tile Sync Handler";
+    }
+}
@@ -375,9 +375,18 @@ public class StarlightReceiverRitualPedestal extends SimpleTransmissionReceiver<
     }
 
     @Override
-    public void readFromNBT(CompoundNBT compound) {
-        super.readFromNBT(compound);
+    public void readFromNBT(CompoundNBT compound, BlockPos pos) {
+        super.readFromNBT(compound, pos);
+        this.readPedestalData(compound);
+    }
+
+    @Override
+    public void readLegacyNBT(CompoundNBT compound) {
+        super.readLegacyNBT(compound);
+        this.readPedestalData(compound);
+    }
 
+    private void readPedestalData(CompoundNBT compound) {
         this.doesSeeSky = compound.getBoolean("doesSeeSky");
         this.hasMultiblock = compound.getBoolean("hasMultiblock");
         this.ticksExisted = compound.getInt("ticksExisted");
@@ -10,14 +10,22 @@ package hellfirepvp.astralsorcery.common.util;
 
 import hellfirepvp.astralsorcery.common.util.block.BlockPredicate;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
-import hellfirepvp.astralsorcery.common.util.object.ObjectReference;
+import hellfirepvp.astralsorcery.common.util.log.LogCategory;
+import hellfirepvp.astralsorcery.common.util.world.IWorldView;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.Entity;
+import net.minecraft.util.Tuple;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Predicate;
 
@@ -83,28 +91,163 @@ public class RaytraceAssist {
     }
 
     public boolean isClear(World world) {
-        return this.forEachBlockPos(at -> {
-            if (collectEntities) {
-                List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, collectBox.offset(at));
-                for (Entity b : entities) {
-                    collected.add(b.getEntityId());
-                }
+        return this.isClear(IWorldView.of(world));
+    }
+
+    //Entities are only collected if the view is backed by a world.
+    public boolean isClear(IWorldView view) {
+        if (LogCategory.RAYTRACE_VERIFICATION.isEnabled()) {
+            this.verifyTraversal();
+        }
+
+        World world = view.getWorld();
+        IntList visited = collectEntities && world != null ? new IntArrayList() : null;
+        boolean clear = this.forEachSampledBlock(at -> {
+            if (visited != null) {
+                visited.add(at.getX());
+                visited.add(at.getY());
+                visited.add(at.getZ());
             }
+            return view.isLoaded(at) && this.testBlock(view, at);
+        });
+
+        if (visited != null && !visited.isEmpty()) {
+            this.collectEntitiesAlong(world, visited);
+        }
+        return clear;
+    }
+
+    private boolean testBlock(IWorldView view, BlockPos at) {
+        if (!isStartEnd(at) && !view.isAirBlock(at)) {
+            BlockState state = view.getBlockState(at);
+            if (this.hitFluids && !state.getFluidState().isEmpty()) {
+                posHit = at.toImmutable();
+                return false;
+            }
+            if ((this.hitBlocks || this.hitFluids) && !isAllowed(view.getWorld(), at, state)) {
+                posHit = at.toImmutable();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Same result as querying collectBox at every visited block, but with a single query over the whole beam.
+    //Visited blocks are stored as consecutive x, y, z triples.
+    private void collectEntitiesAlong(World world, IntList visited) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < visited.size(); i += 3) {
+            int x = visited.getInt(i), y = visited.getInt(i + 1), z = visited.getInt(i + 2);
+            minX = Math.min(minX, collectBox.minX + x);
+            minY = Math.min(minY, collectBox.minY + y);
+            minZ = Math.min(minZ, collectBox.minZ + z);
+            maxX = Math.max(maxX, collectBox.maxX + x);
+            maxY = Math.max(maxY, collectBox.maxY + y);
+            maxZ = Math.max(maxZ, collectBox.maxZ + z);
+        }
 
-            return MiscUtils.executeWithChunk(world, at, () -> {
-                if (!isStartEnd(at) && !world.isAirBlock(at)) {
-                    if (this.hitFluids && !world.getFluidState(at).isEmpty()) {
-                        posHit = at;
-                        return false;
-                    }
-                    if ((this.hitBlocks || this.hitFluids) && !isAllowed(world, at, world.getBlockState(at))) {
-                        posHit = at;
-                        return false;
-                    }
+        List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ));
+        for (Entity e : entities) {
+            AxisAlignedBB entityBox = e.getBoundingBox();
+            for (int i = 0; i < visited.size(); i += 3) {
+                int x = visited.getInt(i), y = visited.getInt(i + 1), z = visited.getInt(i + 2);
+                if (entityBox.intersects(collectBox.minX + x, collectBox.minY + y, collectBox.minZ + z,
+                        collectBox.maxX + x, collectBox.maxY + y, collectBox.maxZ + z)) {
+                    collected.add(e.getEntityId());
+                    break;
                 }
-                return true;
-            }, false);
+            }
+        }
+    }
+
+    //Amanatides & Woo voxel traversal from start to target, only used to compare against the sampling.
+    //Not equivalent to it: lines passing close to a block's edge or corner hit that block here, while the sampling may step past it.
+    //The position passed to the predicate is mutable and only valid during the call.
+    public boolean forEachVoxel(Predicate<BlockPos> voxelFn) {
+        double sX = start.getX(), sY = start.getY(), sZ = start.getZ();
+        double dX = target.getX() - sX, dY = target.getY() - sY, dZ = target.getZ() - sZ;
+
+        int x = MathHelper.floor(sX), y = MathHelper.floor(sY), z = MathHelper.floor(sZ);
+        int endX = MathHelper.floor(target.getX()), endY = MathHelper.floor(target.getY()), endZ = MathHelper.floor(target.getZ());
+
+        int stepX = dX > 0 ? 1 : (dX < 0 ? -1 : 0);
+        int stepY = dY > 0 ? 1 : (dY < 0 ? -1 : 0);
+        int stepZ = dZ > 0 ? 1 : (dZ < 0 ? -1 : 0);
+
+        //Line parameter t runs from 0 at start to 1 at target.
+        double tDeltaX = stepX != 0 ? Math.abs(1D / dX) : Double.MAX_VALUE;
+        double tDeltaY = stepY != 0 ? Math.abs(1D / dY) : Double.MAX_VALUE;
+        double tDeltaZ = stepZ != 0 ? Math.abs(1D / dZ) : Double.MAX_VALUE;
+        double tMaxX = stepX > 0 ? (x + 1 - sX) / dX : (stepX < 0 ? (x - sX) / dX : Double.MAX_VALUE);
+        double tMaxY = stepY > 0 ? (y + 1 - sY) / dY : (stepY < 0 ? (y - sY) / dY : Double.MAX_VALUE);
+        double tMaxZ = stepZ > 0 ? (z + 1 - sZ) / dZ : (stepZ < 0 ? (z - sZ) / dZ : Double.MAX_VALUE);
+
+        BlockPos.Mutable at = new BlockPos.Mutable(x, y, z);
+        if (!voxelFn.test(at)) {
+            return false;
+        }
+        while (x != endX || y != endY || z != endZ) {
+            double tNext;
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                tNext = tMaxX;
+                x += stepX;
+                tMaxX += tDeltaX;
+            } else if (tMaxY < tMaxZ) {
+                tNext = tMaxY;
+                y += stepY;
+                tMaxY += tDeltaY;
+            } else {
+                tNext = tMaxZ;
+                z += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+            if (tNext > 1D) {
+                break; //Rounding got us past the target.
+            }
+            at.setPos(x, y, z);
+            if (!voxelFn.test(at)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void verifyTraversal() {
+        Tuple<List<BlockPos>, List<BlockPos>> difference = this.compareTraversals();
+        if (!difference.getA().isEmpty()) {
+            LogCategory.RAYTRACE_VERIFICATION.warn(() -> "Voxel traversal from " + start + " to " + target + " missed sampled blocks: " + difference.getA());
+        }
+        if (!difference.getB().isEmpty()) {
+            LogCategory.RAYTRACE_VERIFICATION.warn(() -> "Voxel traversal from " + start + " to " + target + " visited blocks the sampling skipped: " + difference.getB());
+        }
+    }
+
+    //The blocks only one of both modes visits: first the sampled blocks the voxel traversal missed,
+    //then the blocks the voxel traversal visited that the sampling stepped past. Both are empty if the modes agree.
+    public Tuple<List<BlockPos>, List<BlockPos>> compareTraversals() {
+        LongSet exact = new LongOpenHashSet();
+        this.forEachVoxel(at -> {
+            exact.add(at.toLong());
+            return true;
         });
+        LongSet sampled = new LongOpenHashSet();
+        List<BlockPos> missed = new ArrayList<>();
+        this.forEachSampledBlock(at -> {
+            sampled.add(at.toLong());
+            if (!exact.contains(at.toLong())) {
+                missed.add(at.toImmutable());
+            }
+            return true;
+        });
+        List<BlockPos> skipped = new ArrayList<>();
+        this.forEachVoxel(at -> {
+            if (!sampled.contains(at.toLong())) {
+                skipped.add(at.toImmutable());
+            }
+            return true;
+        });
+        return new Tuple<>(missed, skipped);
     }
 
     public boolean forEachStep(Predicate<Vector3> raystepFn) {
@@ -115,7 +258,7 @@ public class RaytraceAssist {
 
         for (double distancePart = this.stepWidth; distancePart <= distance; distancePart += this.stepWidth) {
             Vector3 stepVec = prevVec.clone().add(stepAim);
-            if (!raystepFn.test(stepVec.clone())) {
+            if (!raystepFn.test(stepVec)) {
                 return false;
             }
             prevVec = stepVec;
@@ -124,15 +267,34 @@ public class RaytraceAssist {
     }
 
     public boolean forEachBlockPos(Predicate<BlockPos> raystepFn) {
-        ObjectReference<BlockPos> lastPos = new ObjectReference<>();
-        return this.forEachStep(vec -> {
-            BlockPos at = vec.toBlockPos();
-            if (lastPos.get() == null || !lastPos.get().equals(at)) {
-                lastPos.set(at);
-                return raystepFn.test(at);
+        return this.forEachSampledBlock(at -> raystepFn.test(at.toImmutable()));
+    }
+
+    //Same sample points and blocks as forEachStep and forEachBlockPos, without allocating anything per step.
+    //The position passed to the predicate is mutable and only valid during the call.
+    private boolean forEachSampledBlock(Predicate<BlockPos> blockFn) {
+        Vector3 aim = start.vectorFromHereTo(target);
+        Vector3 stepAim = aim.clone().normalize().multiply(this.stepWidth);
+        double distance = aim.length();
+        double stepX = stepAim.getX(), stepY = stepAim.getY(), stepZ = stepAim.getZ();
+        double x = start.getX(), y = start.getY(), z = start.getZ();
+
+        BlockPos.Mutable at = new BlockPos.Mutable();
+        boolean first = true;
+        for (double distancePart = this.stepWidth; distancePart <= distance; distancePart += this.stepWidth) {
+            x += stepX;
+            y += stepY;
+            z += stepZ;
+            int bX = MathHelper.floor(x), bY = MathHelper.floor(y), bZ = MathHelper.floor(z);
+            if (first || bX != at.getX() || bY != at.getY() || bZ != at.getZ()) {
+                first = false;
+                at.setPos(bX, bY, bZ);
+                if (!blockFn.test(at)) {
+                    return false;
+                }
             }
-            return true;
-        });
+        }
+        return true;
     }
 
     public BlockPos positionHit() {
@@ -150,7 +312,7 @@ public class RaytraceAssist {
         return entities;
     }
 
-    private boolean isAllowed(World world, BlockPos at, BlockState state) {
+    private boolean isAllowed(@Nullable World world, BlockPos at, BlockState state) {
         return MiscUtils.contains(passable, predicate -> predicate.test(world, at, state));
     }
 
@@ -234,6 +234,30 @@ public class ByteBufUtils {
         return new BlockPos(x, y, z);
     }
 
+    //Writes the position relative to another one. Nearby positions take 3 to 6 bytes instead of 12.
+    public static void writePosDelta(PacketBuffer buf, BlockPos from, BlockPos pos) {
+        writeSignedVarInt(buf, pos.getX() - from.getX());
+        writeSignedVarInt(buf, pos.getY() - from.getY());
+        writeSignedVarInt(buf, pos.getZ() - from.getZ());
+    }
+
+    public static BlockPos readPosDelta(PacketBuffer buf, BlockPos from) {
+        int x = from.getX() + readSignedVarInt(buf);
+        int y = from.getY() + readSignedVarInt(buf);
+        int z = from.getZ() + readSignedVarInt(buf);
+        return new BlockPos(x, y, z);
+    }
+
+    //Zigzag encoded, so small negative numbers stay small as well.
+    public static void writeSignedVarInt(PacketBuffer buf, int nbr) {
+        buf.writeVarInt((nbr << 1) ^ (nbr >> 31));
+    }
+
+    public static int readSignedVarInt(PacketBuffer buf) {
+        int zigzag = buf.readVarInt();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
     public static void writeVector(PacketBuffer buf, Vector3 vec) {
         buf.writeDouble(vec.getX());
         buf.writeDouble(vec.getY());
@@ -24,7 +24,9 @@ public enum LogCategory {
     PERKS,
     UNINTENDED_CHUNK_LOADING,
     STRUCTURE_MATCH,
-    GATEWAY_CACHE;
+    GATEWAY_CACHE,
+    RAYTRACE_VERIFICATION,
+    LIGHT_NETWORK_PERSISTENCE;
 
     public boolean isEnabled() {
         return LogConfig.CONFIG.isLoggingEnabled(this);
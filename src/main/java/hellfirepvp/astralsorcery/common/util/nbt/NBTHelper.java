@@ -10,13 +10,16 @@ package hellfirepvp.astralsorcery.common.util.nbt;
 
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import hellfirepvp.astralsorcery.common.util.data.ByteBufUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.Entity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.*;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.state.Property;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -424,6 +427,28 @@ public class NBTHelper {
         return new BlockPos(x, y, z);
     }
 
+    //Stores the positions as zigzag varint x/y/z offsets to the given origin.
+    //Linked positions are close to their origin, so that's mostly 3 bytes per position.
+    public static void writeBlockPosOffsets(CompoundNBT compound, String key, BlockPos origin, Collection<BlockPos> positions) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer(positions.size() * 3));
+        for (BlockPos pos : positions) {
+            ByteBufUtils.writePosDelta(buf, origin, pos);
+        }
+        byte[] offsets = new byte[buf.readableBytes()];
+        buf.readBytes(offsets);
+        buf.release();
+        compound.putByteArray(key, offsets);
+    }
+
+    public static List<BlockPos> readBlockPosOffsets(CompoundNBT compound, String key, BlockPos origin) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(compound.getByteArray(key)));
+        List<BlockPos> positions = new ArrayList<>();
+        while (buf.isReadable()) {
+            positions.add(ByteBufUtils.readPosDelta(buf, origin));
+        }
+        return positions;
+    }
+
     public static CompoundNBT writeVector3(Vector3 v) {
         CompoundNBT cmp = new CompoundNBT();
         writeVector3(v, cmp);
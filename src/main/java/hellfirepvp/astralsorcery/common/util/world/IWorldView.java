@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: IWorldView
+ * Created by agent
+ * Date: 18.10.2026 / 05:22
+ */
+//The few things the starlight network needs to know about the world it's in.
+//Backed by a live world via LiveWorldView, or by an InMemoryWorldView to run network logic without a server.
+public interface IWorldView {
+
+    public static IWorldView of(World world) {
+        return new LiveWorldView(world);
+    }
+
+    public RegistryKey<World> getDimensionKey();
+
+    //True if the chunk at the position is loaded, blocks and tiles there may be read without loading it.
+    public boolean isLoaded(BlockPos pos);
+
+    //True if the chunk at the position is loaded and ticking.
+    public boolean canTick(BlockPos pos);
+
+    public BlockState getBlockState(BlockPos pos);
+
+    public default boolean isAirBlock(BlockPos pos) {
+        return this.getBlockState(pos).isAir();
+    }
+
+    @Nullable
+    public <T> T getTileAt(BlockPos pos, Class<T> tileClass, boolean forceChunkLoad);
+
+    //The world behind this view, null if there is none.
+    //Only for callbacks that still require a World, such as RaytraceAssist's passable predicates and entity collection.
+    @Nullable
+    public World getWorld();
+
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: InMemoryWorldView
+ * Created by agent
+ * Date: 18.10.2026 / 05:22
+ */
+//World stand-in for running starlight network logic without a server, e.g. in the jmh benchmarks (see WorldViewBenchmark).
+//Positions without a set block state are air, chunks are unloaded until marked as loaded.
+//Loaded chunks are always considered ticking. Tiles are plain objects, they're never ticked.
+public class InMemoryWorldView implements IWorldView {
+
+    private final RegistryKey<World> dimension;
+
+    //Keyed by BlockPos.toLong
+    private final Long2ObjectMap<BlockState> blockStates = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Object> tiles = new Long2ObjectOpenHashMap<>();
+    //Keyed by ChunkPos.asLong
+    private final LongSet loadedChunks = new LongOpenHashSet();
+
+    public InMemoryWorldView(RegistryKey<World> dimension) {
+        this.dimension = dimension;
+    }
+
+    public InMemoryWorldView setBlockState(BlockPos pos, BlockState state) {
+        if (state.isAir()) {
+            this.blockStates.remove(pos.toLong());
+        } else {
+            this.blockStates.put(pos.toLong(), state);
+        }
+        return this;
+    }
+
+    public InMemoryWorldView setTile(BlockPos pos, @Nullable Object tile) {
+        if (tile == null) {
+            this.tiles.remove(pos.toLong());
+        } else {
+            this.tiles.put(pos.toLong(), tile);
+        }
+        return this;
+    }
+
+    public InMemoryWorldView setChunkLoaded(ChunkPos pos, boolean loaded) {
+        if (loaded) {
+            this.loadedChunks.add(pos.asLong());
+        } else {
+            this.loadedChunks.remove(pos.asLong());
+        }
+        return this;
+    }
+
+    //Marks every chunk the box between the two positions touches as loaded.
+    public InMemoryWorldView loadChunks(BlockPos from, BlockPos to) {
+        for (int chX = Math.min(from.getX(), to.getX()) >> 4; chX <= Math.max(from.getX(), to.getX()) >> 4; chX++) {
+            for (int chZ = Math.min(from.getZ(), to.getZ()) >> 4; chZ <= Math.max(from.getZ(), to.getZ()) >> 4; chZ++) {
+                this.loadedChunks.add(ChunkPos.asLong(chX, chZ));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public RegistryKey<World> getDimensionKey() {
+        return this.dimension;
+    }
+
+    @Override
+    public boolean isLoaded(BlockPos pos) {
+        return this.loadedChunks.contains(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+    }
+
+    @Override
+    public boolean canTick(BlockPos pos) {
+        return this.isLoaded(pos);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState state = this.blockStates.get(pos.toLong());
+        return state != null ? state : Blocks.AIR.getDefaultState();
+    }
+
+    @Nullable
+    @Override
+    public <T> T getTileAt(BlockPos pos, Class<T> tileClass, boolean forceChunkLoad) {
+        if (!forceChunkLoad && !this.isLoaded(pos)) {
+            return null;
+        }
+        Object tile = this.tiles.get(pos.toLong());
+        return tileClass.isInstance(tile) ? tileClass.cast(tile) : null;
+    }
+
+    @Nullable
+    @Override
+    public World getWorld() {
+        return null;
+    }
+}
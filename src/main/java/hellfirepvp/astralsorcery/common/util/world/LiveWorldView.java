@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2022
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.world;
+
+import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: LiveWorldView
+ * Created by agent
+ * Date: 18.10.2026 / 05:22
+ */
+public class LiveWorldView implements IWorldView {
+
+    private final World world;
+
+    public LiveWorldView(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public RegistryKey<World> getDimensionKey() {
+        return this.world.getDimensionKey();
+    }
+
+    @Override
+    public boolean isLoaded(BlockPos pos) {
+        return MiscUtils.executeWithChunk(this.world, pos, () -> true, false);
+    }
+
+    @Override
+    public boolean canTick(BlockPos pos) {
+        return this.world.getChunkProvider().canTick(pos);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.world.getBlockState(pos);
+    }
+
+    @Override
+    public boolean isAirBlock(BlockPos pos) {
+        return this.world.isAirBlock(pos);
+    }
+
+    @Nullable
+    @Override
+    public <T> T getTileAt(BlockPos pos, Class<T> tileClass, boolean forceChunkLoad) {
+        return MiscUtils.getTileAt(this.world, pos, tileClass, forceChunkLoad);
+    }
+
+    @Override
+    public World getWorld() {
+        return this.world;
+    }
+}